@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package zav.jrc.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zav.jrc.databind.AccountEntity;
+import zav.jrc.databind.RulesEntity;
+import zav.jrc.databind.Things;
+import zav.jrc.databind.TrophyListEntity;
+import zav.jrc.databind.UserListEntity;
+import zav.jrc.databind.io.TokenEntity;
+
+/**
+ * Measures the throughput of deserializing individual entities, using the
+ * fixtures of the databind tests.<br>
+ * The allocation rate is measured by running the benchmarks with the GC
+ * profiler, i.e. {@code java -jar benchmarks.jar -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityBenchmark {
+  private String account;
+  private byte[] accountBytes;
+  private String messaging;
+  private String rules;
+  private String token;
+  private String trophyList;
+
+  /**
+   * Loads the fixtures.
+   */
+  @Setup
+  public void setUp() {
+    account = Fixtures.read("Account.json");
+    accountBytes = account.getBytes(StandardCharsets.UTF_8);
+    messaging = Fixtures.read("Messaging.json");
+    rules = Fixtures.read("Rules.json");
+    token = Fixtures.read("Token.json");
+    trophyList = Fixtures.read("TrophyList.json");
+  }
+
+  @Benchmark
+  public AccountEntity transformThing() {
+    return Things.transformThing(account, AccountEntity.class);
+  }
+
+  @Benchmark
+  public AccountEntity transformThingFromStream() throws IOException {
+    return Things.transformThing(new ByteArrayInputStream(accountBytes), AccountEntity.class);
+  }
+
+  @Benchmark
+  public UserListEntity[] transformMessaging() {
+    return Things.transform(messaging, UserListEntity[].class);
+  }
+
+  @Benchmark
+  public RulesEntity transformRules() {
+    return Things.transform(rules, RulesEntity.class);
+  }
+
+  @Benchmark
+  public TrophyListEntity transformTrophyList() {
+    return Things.transform(trophyList, TrophyListEntity.class);
+  }
+
+  @Benchmark
+  public TokenEntity readToken() throws IOException {
+    return TokenEntity.read(token);
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package zav.jrc.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import zav.jrc.databind.Mappers;
+
+/**
+ * Utility class for loading the JSON documents used by the benchmarks. The
+ * documents are the fixtures of the databind tests, which are copied onto the
+ * classpath of this module.
+ */
+final class Fixtures {
+  /**
+   * Numeric base of the synthetic ids. Reddit encodes ids in base 36.
+   */
+  private static final long BASE_ID = Long.parseLong("kvzaot", 36);
+
+  private Fixtures() {
+    // Utility class
+  }
+
+  /**
+   * Reads the content of a fixture.
+   *
+   * @param fileName The name of the fixture.
+   * @return The raw JSON document.
+   */
+  static String read(String fileName) {
+    try (InputStream source = Fixtures.class.getResourceAsStream("/" + fileName)) {
+      Objects.requireNonNull(source, fileName);
+      return new String(source.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Reads the content of a fixture as JSON tree.
+   *
+   * @param fileName The name of the fixture.
+   * @return The parsed JSON document.
+   */
+  static JsonNode readTree(String fileName) {
+    try {
+      return Mappers.getMapper().readTree(read(fileName));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Creates a synthetic listing of the given size. All children are copies of
+   * the provided Thing, with consecutive ids.
+   *
+   * @param thing The serialized Thing used as template.
+   * @param size  The number of children.
+   * @return The serialized listing.
+   */
+  static String listing(JsonNode thing, int size) {
+    ObjectNode listing = Mappers.getMapper().createObjectNode();
+    ObjectNode data = listing.put("kind", "Listing").putObject("data");
+    ArrayNode children = data.put("dist", size).putArray("children");
+    String kind = thing.get("kind").asText();
+
+    for (int i = 0; i < size; ++i) {
+      ObjectNode child = thing.deepCopy();
+      String id = Long.toString(BASE_ID + i, 36);
+      ((ObjectNode) child.get("data")).put("id", id).put("name", kind + "_" + id);
+      children.add(child);
+    }
+
+    data.put("after", children.get(size - 1).get("data").get("name").asText());
+    data.putNull("before");
+
+    return listing.toString();
+  }
+}
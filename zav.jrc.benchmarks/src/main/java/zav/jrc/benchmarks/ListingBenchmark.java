@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package zav.jrc.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import zav.jrc.databind.CommentEntity;
+import zav.jrc.databind.LinkEntity;
+import zav.jrc.databind.Things;
+
+/**
+ * Measures the throughput of deserializing listings of links and comments. The
+ * listings are taken from {@code Submission.json}, as well as synthetic
+ * listings with 100 children each, which is the largest page size supported by
+ * the API.<br>
+ * The allocation rate is measured by running the benchmarks with the GC
+ * profiler, i.e. {@code java -jar benchmarks.jar -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListingBenchmark {
+  private static final int PAGE_SIZE = 100;
+
+  private String links;
+  private String comments;
+  private String syntheticLinks;
+  private String syntheticComments;
+  private byte[] syntheticLinksBytes;
+
+  /**
+   * Loads the submission and creates the synthetic listings.
+   */
+  @Setup
+  public void setUp() {
+    JsonNode submission = Fixtures.readTree("Submission.json");
+    JsonNode link = submission.get(0).get("data").get("children").get(0);
+    JsonNode comment = submission.get(1).get("data").get("children").get(0);
+
+    links = submission.get(0).toString();
+    comments = submission.get(1).toString();
+    syntheticLinks = Fixtures.listing(link, PAGE_SIZE);
+    syntheticComments = Fixtures.listing(comment, PAGE_SIZE);
+    syntheticLinksBytes = syntheticLinks.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public void transformListingOfLinks(Blackhole blackhole) {
+    Things.transformListingOfThings(links, LinkEntity.class).forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public void transformListingOfComments(Blackhole blackhole) {
+    Things.transformListingOfThings(comments, CommentEntity.class).forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public void transformSyntheticListingOfLinks(Blackhole blackhole) {
+    Things.transformListingOfThings(syntheticLinks, LinkEntity.class)
+        .forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public void transformSyntheticListingOfComments(Blackhole blackhole) {
+    Things.transformListingOfThings(syntheticComments, CommentEntity.class)
+        .forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public void transformSyntheticListingOfLinksFromStream(Blackhole blackhole)
+      throws IOException {
+    Things.transformListingOfThings(new ByteArrayInputStream(syntheticLinksBytes),
+        LinkEntity.class).forEach(blackhole::consume);
+  }
+}
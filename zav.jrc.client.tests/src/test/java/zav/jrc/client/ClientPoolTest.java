@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package zav.jrc.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import zav.jrc.client.http.RequestBuilder.Credentials;
+import zav.jrc.client.http.ResponseReader;
+import zav.jrc.databind.SubredditEntity;
+
+/**
+ * Checks whether requests are only spread over the members of the pool, if
+ * they don't depend on the authenticated account.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ClientPoolTest {
+  static final ResponseReader<String> READER = ResponseBody::string;
+  @Mock
+  Client owner;
+  @Mock
+  Client member;
+  ClientPool pool;
+
+  @BeforeEach
+  public void setUp() {
+    when(owner.getOwner()).thenReturn(owner);
+    pool = new ClientPool(List.of(owner, member));
+  }
+
+  /**
+   * Gives the second member more remaining requests than the owner.
+   */
+  private void setUpRateLimits() {
+    RateLimiter ownerLimiter = new RateLimiter();
+    ownerLimiter.update(response("590", "10"));
+    RateLimiter memberLimiter = new RateLimiter();
+    memberLimiter.update(response("100", "500"));
+
+    when(owner.getRateLimiter()).thenReturn(ownerLimiter);
+    when(member.getRateLimiter()).thenReturn(memberLimiter);
+  }
+
+  @Test
+  public void testGetOwner() {
+    assertEquals(pool.getOwner(), owner);
+    assertEquals(pool.getMember(1), member);
+    assertEquals(pool.size(), 2);
+  }
+
+  @Test
+  public void testSendToOwner() throws FailedRequestException {
+    Request request = new Request.Builder().url("https://oauth.reddit.com/api/v1/me").build();
+
+    pool.send(request, READER);
+
+    verify(owner).send(request, READER);
+    verify(member, never()).send(any(), any());
+  }
+
+  @Test
+  public void testSendWithAnyCredentials() throws FailedRequestException {
+    Request request = new Request.Builder() //
+        .url("https://oauth.reddit.com/r/RedditDev/about") //
+        .tag(Credentials.class, Credentials.ANY) //
+        .build();
+
+    setUpRateLimits();
+    pool.send(request, READER);
+
+    // The member with the most remaining requests performs the request
+    verify(member).send(request, READER);
+    verify(owner, never()).send(any(), any());
+  }
+
+  @Test
+  public void testSendPostWithAnyCredentials() throws FailedRequestException {
+    Request request = new Request.Builder() //
+        .url("https://oauth.reddit.com/api/read_message") //
+        .post(RequestBody.create(new byte[0])) //
+        .tag(Credentials.class, Credentials.ANY) //
+        .build();
+
+    pool.send(request, READER);
+
+    // Requests modifying the account are always made by the owner
+    verify(owner).send(request, READER);
+    verify(member, never()).send(any(), any());
+  }
+
+  @Test
+  public void testSendAsync() {
+    Request owned = new Request.Builder().url("https://oauth.reddit.com/api/v1/me").build();
+    Request shared = owned.newBuilder().tag(Credentials.class, Credentials.ANY).build();
+
+    setUpRateLimits();
+    pool.sendAsync(owned, READER);
+    pool.sendAsync(shared, READER);
+
+    verify(owner).sendAsync(owned, READER);
+    verify(member).sendAsync(shared, READER);
+  }
+
+  @Test
+  public void testSendWithRequestBuilder() throws FailedRequestException {
+    List<String> senders = new ArrayList<>();
+    Client first = new TestClient("first", senders);
+    Client second = new TestClient("second", senders);
+    first.getRateLimiter().update(response("590", "10"));
+    second.getRateLimiter().update(response("100", "500"));
+
+    ClientPool pool = new ClientPool(List.of(first, second));
+    SubredditEntity subreddit = pool.getCaches().getSubreddits().get("RedditDev");
+
+    // Public subreddits may be requested by any member
+    assertEquals(subreddit.getDisplayName(), "RedditDev");
+    assertEquals(senders, List.of("second"));
+  }
+
+  private static Response response(String used, String remaining) {
+    return new Response.Builder() //
+        .request(new Request.Builder().url("https://oauth.reddit.com/").build()) //
+        .protocol(Protocol.HTTP_1_1) //
+        .code(200) //
+        .message("OK") //
+        .header("x-ratelimit-used", used) //
+        .header("x-ratelimit-remaining", remaining) //
+        .header("x-ratelimit-reset", "60") //
+        .build();
+  }
+
+  /**
+   * A client which answers every request with the same subreddit.
+   */
+  private static final class TestClient extends Client {
+    private final String name;
+    private final List<String> senders;
+
+    private TestClient(String name, List<String> senders) {
+      super("agent", "credentials");
+      this.name = name;
+      this.senders = senders;
+    }
+
+    @Override
+    public <T> T send(Request request, ResponseReader<T> reader) throws FailedRequestException {
+      senders.add(name);
+
+      String body = "{\"kind\":\"t5\",\"data\":{\"display_name\":\"RedditDev\"}}";
+
+      try {
+        return reader.read(ResponseBody.create(body, MediaType.get("application/json")));
+      } catch (IOException e) {
+        throw FailedRequestException.wrap(e);
+      }
+    }
+
+    @Override
+    public void login(Duration duration) {
+      // Not required
+    }
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package zav.jrc.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import zav.jrc.client.http.ResponseReader;
+
+/**
+ * Checks whether identical requests which are in flight at the same time are
+ * only transmitted once.
+ */
+public class InFlightRequestsTest {
+  static final Request REQUEST = new Request.Builder() //
+      .url("https://oauth.reddit.com/r/RedditDev/about") //
+      .build();
+  InFlightRequests requests;
+  ExecutorService executor;
+  AtomicInteger calls;
+  /**
+   * Blocks the transmitted requests until released.
+   */
+  CountDownLatch response;
+  volatile boolean failing;
+
+  @BeforeEach
+  public void setUp() {
+    requests = new InFlightRequests();
+    executor = Executors.newCachedThreadPool();
+    calls = new AtomicInteger();
+    response = new CountDownLatch(1);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testCoalescing() throws Exception {
+    Future<String> first = send(REQUEST);
+    awaitInFlight(1);
+    Future<String> second = sendAndWait(REQUEST, ResponseBody::string);
+
+    response.countDown();
+
+    assertEquals(first.get(5, TimeUnit.SECONDS), "RedditDev");
+    assertEquals(second.get(5, TimeUnit.SECONDS), "RedditDev");
+    assertEquals(calls.get(), 1);
+    assertEquals(requests.size(), 0);
+
+    // Once completed, the request is transmitted again
+    assertEquals(requests.send(REQUEST, this::transmit, ResponseBody::string), "RedditDev");
+    assertEquals(calls.get(), 2);
+  }
+
+  @Test
+  public void testCoalescingWithReader() throws Exception {
+    Future<String> first = send(REQUEST);
+    awaitInFlight(1);
+    Future<byte[]> second = sendAndWait(REQUEST, ResponseBody::bytes);
+
+    response.countDown();
+
+    // Each caller reads its own copy of the shared body
+    assertEquals(first.get(5, TimeUnit.SECONDS), "RedditDev");
+    assertArrayEquals(second.get(5, TimeUnit.SECONDS), "RedditDev".getBytes(UTF_8));
+    assertEquals(calls.get(), 1);
+  }
+
+  @Test
+  public void testDifferentHeaders() throws Exception {
+    Future<String> first = send(REQUEST);
+    awaitInFlight(1);
+    Future<String> second = send(REQUEST.newBuilder().header("User-Agent", "Test").build());
+    awaitInFlight(2);
+
+    response.countDown();
+
+    first.get(5, TimeUnit.SECONDS);
+    second.get(5, TimeUnit.SECONDS);
+    assertEquals(calls.get(), 2);
+  }
+
+  @Test
+  public void testFailedRequest() throws Exception {
+    failing = true;
+
+    Future<String> first = send(REQUEST);
+    awaitInFlight(1);
+    Future<String> second = sendAndWait(REQUEST, ResponseBody::string);
+
+    response.countDown();
+
+    // The failure is passed to all waiting threads
+    for (Future<String> future : List.of(first, second)) {
+      ExecutionException e = assertThrows(ExecutionException.class,
+          () -> future.get(5, TimeUnit.SECONDS));
+      assertTrue(e.getCause() instanceof FailedRequestException);
+    }
+
+    assertEquals(calls.get(), 1);
+  }
+
+  private Future<String> send(Request request) {
+    return executor.submit(() -> requests.send(request, this::transmit, ResponseBody::string));
+  }
+
+  /**
+   * Performs the request on another thread and waits until said thread blocks,
+   * e.g. because it waits for an identical request.
+   *
+   * @param request The transmitted request.
+   * @param reader  The reader converting the response body.
+   * @return The converted body of the response.
+   */
+  private <T> Future<T> sendAndWait(Request request, ResponseReader<T> reader)
+      throws InterruptedException {
+    AtomicReference<Thread> thread = new AtomicReference<>();
+    Future<T> result = executor.submit(() -> {
+      thread.set(Thread.currentThread());
+      return requests.send(request, this::transmit, reader);
+    });
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+    while (System.nanoTime() < deadline) {
+      Thread current = thread.get();
+
+      if (current != null && current.getState() == Thread.State.WAITING) {
+        break;
+      }
+
+      Thread.sleep(10);
+    }
+
+    return result;
+  }
+
+  private InFlightRequests.Body transmit(Request request) throws FailedRequestException {
+    calls.incrementAndGet();
+
+    try {
+      response.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw FailedRequestException.wrap(e);
+    }
+
+    if (failing) {
+      throw FailedRequestException.wrap(new IOException("Test"));
+    }
+
+    return new InFlightRequests.Body("RedditDev".getBytes(UTF_8), null);
+  }
+
+  /**
+   * Waits until the given number of distinct requests is in flight.
+   *
+   * @param count The number of distinct requests.
+   */
+  private void awaitInFlight(int count) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+    while (requests.size() < count && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    assertEquals(requests.size(), count);
+  }
+}
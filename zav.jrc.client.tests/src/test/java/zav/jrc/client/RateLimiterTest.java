@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package zav.jrc.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks whether requests are spread evenly over the current window and
+ * whether the limiter recovers once a new window starts.
+ */
+public class RateLimiterTest {
+  /**
+   * Requests waiting less than this are considered to be made immediately.
+   */
+  static final long IMMEDIATE = TimeUnit.MILLISECONDS.toNanos(50);
+  RateLimiter limiter;
+
+  @BeforeEach
+  public void setUp() {
+    limiter = new RateLimiter();
+  }
+
+  @Test
+  public void testAcquireWithoutWindow() throws InterruptedException {
+    // Requests aren't paced until the first response has been received
+    for (int i = 0; i < 10; ++i) {
+      assertTrue(acquire() < IMMEDIATE);
+    }
+  }
+
+  @Test
+  public void testUpdate() {
+    limiter.update(response("3", "597", "120"));
+
+    assertEquals(limiter.getUsed(), 3);
+    assertEquals(limiter.getRemaining(), 597);
+    assertEquals(limiter.getReset(), 120);
+  }
+
+  @Test
+  public void testUpdateWithoutHeaders() {
+    limiter.update(response(null, null, null));
+
+    assertEquals(limiter.getUsed(), 0);
+    assertEquals(limiter.getRemaining(), 60);
+  }
+
+  @Test
+  public void testPacing() throws InterruptedException {
+    // One request every 100ms
+    limiter.update(response("0", "10", "1"));
+
+    assertTrue(acquire() < IMMEDIATE);
+    assertTrue(acquire() >= TimeUnit.MILLISECONDS.toNanos(80));
+
+    assertEquals(limiter.getUsed(), 2);
+    assertEquals(limiter.getRemaining(), 8);
+  }
+
+  @Test
+  public void testExhaustedWindow() throws InterruptedException {
+    limiter.update(response("600", "0", "0.2"));
+
+    // Waits until the end of the window
+    assertTrue(acquire() >= TimeUnit.MILLISECONDS.toNanos(150));
+  }
+
+  @Test
+  public void testWindowReset() throws InterruptedException {
+    limiter.update(response("599", "1", "0.2"));
+
+    // The last request of the window is made immediately...
+    assertTrue(acquire() < IMMEDIATE);
+    // ...while the next one waits for the new window
+    assertTrue(acquire() >= TimeUnit.MILLISECONDS.toNanos(150));
+
+    // Until a response opens the new window, requests aren't paced
+    assertTrue(acquire() < IMMEDIATE);
+
+    // Pacing resumes with the new window
+    limiter.update(response("0", "10", "1"));
+    assertTrue(acquire() < IMMEDIATE);
+    assertTrue(acquire() >= TimeUnit.MILLISECONDS.toNanos(80));
+  }
+
+  /**
+   * Acquires a single request.
+   *
+   * @return The number of nanoseconds spent waiting for the request.
+   */
+  private long acquire() throws InterruptedException {
+    long start = System.nanoTime();
+    limiter.acquire();
+    return System.nanoTime() - start;
+  }
+
+  private static Response response(String used, String remaining, String reset) {
+    Response.Builder builder = new Response.Builder() //
+        .request(new Request.Builder().url("https://oauth.reddit.com/").build()) //
+        .protocol(Protocol.HTTP_1_1) //
+        .code(200) //
+        .message("OK");
+
+    if (used != null) {
+      builder.header("x-ratelimit-used", used);
+    }
+
+    if (remaining != null) {
+      builder.header("x-ratelimit-remaining", remaining);
+    }
+
+    if (reset != null) {
+      builder.header("x-ratelimit-reset", reset);
+    }
+
+    return builder.build();
+  }
+}
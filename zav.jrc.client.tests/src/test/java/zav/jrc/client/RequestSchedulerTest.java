@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package zav.jrc.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks whether queued requests are dispatched by their priority, without
+ * starving requests of lower priority.
+ */
+public class RequestSchedulerTest {
+  @Test
+  public void testCapacity() {
+    RequestScheduler scheduler = new RequestScheduler(2);
+
+    assertTrue(scheduler.acquireAsync(Priority.NORMAL).isDone());
+    assertTrue(scheduler.acquireAsync(Priority.NORMAL).isDone());
+
+    CompletableFuture<Void> future = scheduler.acquireAsync(Priority.NORMAL);
+    assertFalse(future.isDone());
+    assertEquals(scheduler.getQueueDepth(Priority.NORMAL), 1);
+
+    scheduler.release();
+    assertTrue(future.isDone());
+    assertEquals(scheduler.getQueueDepth(Priority.NORMAL), 0);
+    assertEquals(scheduler.getDispatched(Priority.NORMAL), 3);
+  }
+
+  @Test
+  public void testSetCapacity() {
+    RequestScheduler scheduler = new RequestScheduler(1);
+    scheduler.acquireAsync(Priority.NORMAL);
+
+    CompletableFuture<Void> future = scheduler.acquireAsync(Priority.NORMAL);
+    assertFalse(future.isDone());
+
+    scheduler.setCapacity(2);
+    assertTrue(future.isDone());
+    assertEquals(scheduler.getCapacity(), 2);
+
+    assertThrows(IllegalArgumentException.class, () -> scheduler.setCapacity(0));
+  }
+
+  @Test
+  public void testPriorityOrder() {
+    RequestScheduler scheduler = new RequestScheduler(1);
+    scheduler.acquireAsync(Priority.NORMAL);
+
+    List<Priority> dispatched = new ArrayList<>();
+
+    for (Priority priority : List.of(Priority.LOW, Priority.NORMAL, Priority.HIGH)) {
+      scheduler.acquireAsync(priority).thenRun(() -> dispatched.add(priority));
+    }
+
+    for (int i = 0; i < 3; ++i) {
+      scheduler.release();
+    }
+
+    assertEquals(dispatched, List.of(Priority.HIGH, Priority.NORMAL, Priority.LOW));
+  }
+
+  @Test
+  public void testStarvation() {
+    RequestScheduler scheduler = new RequestScheduler(1);
+    scheduler.acquireAsync(Priority.NORMAL);
+
+    List<Priority> dispatched = new ArrayList<>();
+    scheduler.acquireAsync(Priority.LOW).thenRun(() -> dispatched.add(Priority.LOW));
+
+    for (int i = 0; i < 20; ++i) {
+      scheduler.acquireAsync(Priority.HIGH).thenRun(() -> dispatched.add(Priority.HIGH));
+    }
+
+    for (int i = 0; i < 21; ++i) {
+      scheduler.release();
+    }
+
+    // HIGH has eight times the weight of LOW, hence LOW is dispatched after
+    // eight HIGH requests, even though more HIGH requests are waiting
+    assertEquals(dispatched.size(), 21);
+    assertEquals(dispatched.indexOf(Priority.LOW), 8);
+  }
+
+  @Test
+  public void testCancel() {
+    RequestScheduler scheduler = new RequestScheduler(1);
+    scheduler.acquireAsync(Priority.NORMAL);
+
+    CompletableFuture<Void> future = scheduler.acquireAsync(Priority.LOW);
+    assertTrue(future.cancel(false));
+    assertEquals(scheduler.getQueueDepth(Priority.LOW), 0);
+
+    // The cancelled request doesn't occupy the released slot
+    scheduler.release();
+    assertTrue(scheduler.acquireAsync(Priority.LOW).isDone());
+    assertEquals(scheduler.getDispatched(Priority.LOW), 1);
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package zav.jrc.client.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import zav.jrc.client.Client;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.client.http.RequestBuilder;
+import zav.jrc.client.http.ResponseReader;
+
+/**
+ * Checks whether missing Things are requested once and whether the caches
+ * follow their configured specification.
+ */
+@ExtendWith(MockitoExtension.class)
+public class EntityCachesTest {
+  static final ResponseReader<String> READER = ResponseBody::string;
+  @Mock
+  Client client;
+  @Mock
+  RequestBuilder builder;
+  EntityCaches caches;
+  /**
+   * The names of all requested Things.
+   */
+  List<String> requests;
+  Function<String, RequestBuilder> request;
+
+  @BeforeEach
+  public void setUp() {
+    caches = new EntityCaches(client);
+    requests = new ArrayList<>();
+    request = name -> {
+      requests.add(name);
+      return builder;
+    };
+  }
+
+  @Test
+  public void testGet() throws FailedRequestException {
+    when(builder.get(READER)).thenReturn("RedditDev");
+    EntityCache<String> cache = caches.getCache("test", String.class, request, READER);
+
+    // Miss
+    assertEquals(cache.get("RedditDev"), "RedditDev");
+    // Hit
+    assertEquals(cache.get("RedditDev"), "RedditDev");
+
+    assertEquals(requests, List.of("RedditDev"));
+    assertEquals(cache.size(), 1);
+
+    CacheStats stats = cache.getStats();
+    assertEquals(stats.hitCount(), 1);
+    assertEquals(stats.missCount(), 1);
+    assertEquals(caches.getStats(), Map.of("test", stats));
+  }
+
+  @Test
+  public void testGetWithFailedRequest() throws FailedRequestException {
+    FailedRequestException cause = FailedRequestException.wrap(new IOException("Test"));
+    when(builder.get(READER)).thenThrow(cause);
+    EntityCache<String> cache = caches.getCache("test", String.class, request, READER);
+
+    assertEquals(assertThrows(FailedRequestException.class, () -> cache.get("RedditDev")), cause);
+    assertNull(cache.getIfPresent("RedditDev"));
+  }
+
+  @Test
+  public void testPut() throws FailedRequestException {
+    EntityCache<String> cache = caches.getCache("test", String.class, request, READER);
+    cache.put("RedditDev", "RedditDev");
+
+    assertEquals(cache.get("RedditDev"), "RedditDev");
+    verify(builder, never()).get(any(ResponseReader.class));
+  }
+
+  @Test
+  public void testInvalidate() throws FailedRequestException {
+    when(builder.get(READER)).thenReturn("RedditDev");
+    EntityCache<String> cache = caches.getCache("test", String.class, request, READER);
+    cache.put("RedditDev", "RedditDev");
+
+    cache.invalidate("RedditDev");
+    assertNull(cache.getIfPresent("RedditDev"));
+    cache.get("RedditDev");
+
+    assertEquals(requests, List.of("RedditDev"));
+  }
+
+  @Test
+  public void testGetWithOtherType() {
+    caches.getCache("test", String.class, request, READER);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> caches.getCache("test", Integer.class, name -> builder, body -> 0));
+  }
+
+  @Test
+  public void testSetSpec() throws FailedRequestException {
+    when(builder.get(READER)).thenReturn("RedditDev");
+    EntityCache<String> cache = caches.getCache("test", String.class, request, READER);
+    cache.put("RedditDev", "RedditDev");
+
+    // Entries expire immediately, hence every access is a miss
+    caches.setSpec("test", "expireAfterWrite=0s,recordStats");
+    cache = caches.getCache("test", String.class, request, READER);
+    assertNull(cache.getIfPresent("RedditDev"));
+
+    cache.get("RedditDev");
+    cache.get("RedditDev");
+
+    verify(builder, times(2)).get(READER);
+    assertEquals(cache.getStats().hitCount(), 0);
+    assertEquals(cache.getStats().missCount(), 3);
+
+    assertThrows(IllegalArgumentException.class, () -> caches.setSpec("test", "unknown=1"));
+  }
+
+  @Test
+  public void testSetSpecWithWeight() {
+    assertThrows(IllegalArgumentException.class,
+        () -> caches.setSpec("test", "maximumWeight=1000,recordStats"));
+    assertThrows(IllegalArgumentException.class,
+        () -> caches.setSpec("test", "recordStats, maximumWeight=1000"));
+
+    // Rejected specifications are not applied
+    EntityCache<String> cache = caches.getCache("test", String.class, request, READER);
+    cache.put("RedditDev", "RedditDev");
+    assertEquals(cache.size(), 1);
+  }
+
+  @Test
+  public void testInvalidateAll() {
+    EntityCache<String> cache = caches.getCache("test", String.class, request, READER);
+    cache.put("RedditDev", "RedditDev");
+
+    caches.invalidateAll();
+
+    cache = caches.getCache("test", String.class, request, READER);
+    assertNull(cache.getIfPresent("RedditDev"));
+    assertEquals(caches.getStats().keySet(), Set.of("test"));
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package zav.jrc.client.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import zav.jrc.api.endpoint.LinksComments;
+import zav.jrc.api.endpoint.Listings;
+import zav.jrc.client.Client;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.client.http.RequestBuilder;
+import zav.jrc.client.http.ResponseReader;
+import zav.jrc.databind.LinkEntity;
+import zav.jrc.databind.SubredditEntity;
+
+/**
+ * Checks whether Things are requested in chunks via the correct endpoint and
+ * whether resolved Things are cached.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ThingResolverTest {
+  @Mock
+  Client client;
+  @Mock(answer = Answers.RETURNS_SELF)
+  RequestBuilder builder;
+  ThingResolver resolver;
+  /**
+   * The responses of all performed requests, in order.
+   */
+  List<CompletableFuture<String>> responses;
+
+  @BeforeEach
+  public void setUp() {
+    EntityCaches caches = new EntityCaches(client);
+    when(client.getCaches()).thenReturn(caches);
+    when(client.newRequest()).thenReturn(builder);
+    resolver = new ThingResolver(client);
+    responses = new ArrayList<>();
+    stubResponses();
+  }
+
+  @Test
+  public void testResolve() throws FailedRequestException {
+    respond(listing(link("a"), link("b")));
+    respond(listing(subreddit("c", "RedditDev")));
+
+    Map<String, Object> result = resolver.resolve(List.of("t5_c", "t3_a", "t3_b", "t3_x"));
+
+    // Unknown Things are omitted, all others are in the order of the fullnames
+    assertEquals(List.copyOf(result.keySet()), List.of("t5_c", "t3_a", "t3_b"));
+    assertTrue(result.get("t3_a") instanceof LinkEntity);
+    assertTrue(result.get("t5_c") instanceof SubredditEntity);
+
+    verify(builder).withEndpoint(Listings.GET_BY_ID_NAMES, "t3_a,t3_b,t3_x");
+    verify(builder).withEndpoint(LinksComments.GET_API_INFO);
+    verify(builder).withParam("id", "t5_c");
+
+    // Resolved subreddits are also cached by name
+    SubredditEntity subreddit = client.getCaches().getSubreddits().get("RedditDev");
+    assertEquals(subreddit.getId(), "c");
+
+    // Cached Things aren't requested again
+    assertEquals(resolver.resolve("t3_a", LinkEntity.class).getId(), "a");
+    verify(client, times(2)).newRequest();
+  }
+
+  @Test
+  public void testResolveInChunks() throws FailedRequestException {
+    List<String> fullnames = IntStream.range(0, ThingResolver.MAX_IDS + 1) //
+        .mapToObj(i -> "t3_" + Integer.toString(i, 36)) //
+        .collect(Collectors.toList());
+
+    respond(listing());
+    respond(listing(link(Integer.toString(ThingResolver.MAX_IDS, 36))));
+
+    Map<String, LinkEntity> result = resolver.resolve(fullnames, LinkEntity.class);
+
+    assertEquals(result.keySet(), Set.of(fullnames.get(ThingResolver.MAX_IDS)));
+    verify(builder).withEndpoint(Listings.GET_BY_ID_NAMES,
+        String.join(",", fullnames.subList(0, ThingResolver.MAX_IDS)));
+    verify(builder).withEndpoint(Listings.GET_BY_ID_NAMES, fullnames.get(ThingResolver.MAX_IDS));
+  }
+
+  @Test
+  public void testResolveWithFailedRequest() throws FailedRequestException {
+    FailedRequestException cause = FailedRequestException.wrap(new IOException("Test"));
+    responses.add(CompletableFuture.failedFuture(cause));
+    respond(listing(subreddit("c", "RedditDev")));
+
+    assertEquals(assertThrows(FailedRequestException.class,
+        () -> resolver.resolve(List.of("t3_a", "t5_c"))), cause);
+
+    // The Things of the successful request are still cached
+    assertEquals(resolver.resolve("t5_c", SubredditEntity.class).getId(), "c");
+    verify(client, times(2)).newRequest();
+  }
+
+  @Test
+  public void testResolveCached() throws FailedRequestException {
+    respond(listing(link("a")));
+
+    resolver.resolve(List.of("t3_a"));
+    resolver.resolve(List.of("t3_a"));
+
+    verify(builder, times(1)).getAsync(any());
+    verify(builder, never()).withParam(any(), any());
+  }
+
+  private void respond(String json) {
+    responses.add(CompletableFuture.completedFuture(json));
+  }
+
+  /**
+   * Passes the responses, in order, to the reader of each request.
+   */
+  @SuppressWarnings("unchecked")
+  private void stubResponses() {
+    Answer<CompletableFuture<Object>> answer = invocation -> {
+      ResponseReader<Object> reader = invocation.getArgument(0);
+      return responses.remove(0).thenApply(json -> {
+        try {
+          return reader.read(ResponseBody.create(json, MediaType.get("application/json")));
+        } catch (IOException e) {
+          throw new IllegalStateException(e);
+        }
+      });
+    };
+
+    doAnswer(answer).when(builder).getAsync(any(ResponseReader.class));
+  }
+
+  private static String listing(String... things) {
+    return "{\"kind\":\"Listing\",\"data\":{\"children\":[" + String.join(",", things) + "]}}";
+  }
+
+  private static String link(String id) {
+    return "{\"kind\":\"t3\",\"data\":{\"id\":\"" + id + "\",\"name\":\"t3_" + id + "\"}}";
+  }
+
+  private static String subreddit(String id, String name) {
+    return "{\"kind\":\"t5\",\"data\":{\"id\":\"" + id + "\",\"name\":\"t5_" + id
+        + "\",\"display_name\":\"" + name + "\"}}";
+  }
+}
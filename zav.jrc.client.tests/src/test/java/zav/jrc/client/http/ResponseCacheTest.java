@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package zav.jrc.client.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import zav.jrc.api.endpoint.Endpoint;
+import zav.jrc.api.endpoint.Subreddits;
+
+/**
+ * Checks whether responses are served from the cache within their
+ * time-to-live and only to the account which requested them.
+ */
+public class ResponseCacheTest {
+  static final Endpoint ENDPOINT = Subreddits.GET_R_SUBREDDIT_ABOUT;
+  @TempDir
+  Path directory;
+  HttpServer server;
+  ResponseCache cache;
+  OkHttpClient http;
+  /**
+   * The access tokens of all requests which reached the server.
+   */
+  List<String> requests;
+
+  /**
+   * Starts a local server which, like Reddit, marks all responses as not
+   * cacheable.
+   */
+  @BeforeEach
+  public void setUp() throws IOException {
+    requests = new CopyOnWriteArrayList<>();
+
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/", exchange -> {
+      requests.add(exchange.getRequestHeaders().getFirst("Authorization"));
+
+      byte[] body = "RedditDev".getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().add("Cache-Control",
+          "private, s-maxage=0, max-age=0, must-revalidate");
+      exchange.sendResponseHeaders(200, body.length);
+
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.start();
+
+    cache = new ResponseCache(directory, 1024 * 1024);
+    http = new OkHttpClient.Builder() //
+        .cache(cache.getCache()) //
+        .addNetworkInterceptor(cache) //
+        .build();
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    server.stop(0);
+    cache.getCache().close();
+  }
+
+  @Test
+  public void testWithoutTtl() throws IOException {
+    assertEquals(send("a"), "RedditDev");
+    assertEquals(send("a"), "RedditDev");
+
+    assertEquals(requests.size(), 2);
+    assertEquals(cache.getHitCount(), 0);
+    assertEquals(cache.getMissCount(), 2);
+  }
+
+  @Test
+  public void testWithTtl() throws IOException {
+    cache.setTtl(ENDPOINT, Duration.ofMinutes(5));
+
+    assertEquals(send("a"), "RedditDev");
+    assertEquals(send("a"), "RedditDev");
+
+    // The second response is served from the cache
+    assertEquals(requests.size(), 1);
+    assertEquals(cache.getHitCount(), 1);
+    assertEquals(cache.getMissCount(), 1);
+    assertEquals(cache.getNetworkCount(), 1);
+  }
+
+  @Test
+  public void testWithExpiredTtl() throws IOException {
+    cache.setTtl(ENDPOINT, Duration.ZERO);
+
+    send("a");
+    send("a");
+
+    assertEquals(requests.size(), 2);
+  }
+
+  @Test
+  public void testWithOtherToken() throws IOException {
+    cache.setTtl(ENDPOINT, Duration.ofMinutes(5));
+
+    send("a");
+    send("b");
+
+    // Responses are never served to another account
+    assertEquals(requests, List.of("Bearer a", "Bearer b"));
+    assertEquals(cache.getHitCount(), 0);
+  }
+
+  private String send(String token) throws IOException {
+    Request request = new Request.Builder() //
+        .url("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort()
+            + "/r/RedditDev/about") //
+        .header("Authorization", "Bearer " + token) //
+        .tag(Endpoint.class, ENDPOINT) //
+        .build();
+
+    try (Response response = http.newCall(request).execute()) {
+      return response.body().string();
+    }
+  }
+}
@@ -18,10 +18,20 @@
 package zav.jrc.client;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.ws.rs.core.HttpHeaders;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -30,9 +40,12 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import zav.jrc.client.cache.EntityCaches;
 import zav.jrc.client.http.HttpException;
 import zav.jrc.client.http.RequestBuilder;
+import zav.jrc.client.http.ResponseCache;
 import zav.jrc.client.http.RequestBuilder.BodyType;
+import zav.jrc.client.http.ResponseReader;
 import zav.jrc.client.internal.GrantType;
 import zav.jrc.client.internal.OAuth2;
 import zav.jrc.client.internal.TokenType;
@@ -49,9 +62,40 @@ import zav.jrc.databind.io.TokenEntity;
 public abstract class Client {
   private static final Logger LOGGER = LoggerFactory.getLogger(Client.class);
   @Nullable
-  protected TokenEntity token;
+  protected volatile TokenEntity token;
+  /**
+   * Guards the access token while it is being refreshed. An explicit lock is
+   * used instead of a monitor, so that waiting threads don't pin their carrier
+   * thread when executed as virtual threads.
+   */
+  protected final Lock tokenLock = new ReentrantLock();
+  /**
+   * The executor on which asynchronous requests are performed. If {@code null},
+   * asynchronous requests are enqueued via the HTTP client instead.
+   */
+  @Nullable
+  private volatile Executor executor;
+  /**
+   * Restricts the number of requests which may be executed simultaneously. By
+   * default, only a single request is executed at a time.
+   */
+  private final RequestScheduler scheduler;
   private final RateLimiter rateLimiter;
-  private final OkHttpClient http;
+  /**
+   * The caches of all Things requested through this client. Caches aren't
+   * shared between clients, as the visibility of a Thing may depend on the
+   * authenticated account.
+   */
+  private final EntityCaches caches;
+  /**
+   * The GET requests which are currently in flight. Identical requests are
+   * coalesced, so that they only count once towards the rate limit.
+   */
+  private final InFlightRequests inFlight = new InFlightRequests();
+  private volatile boolean coalescing = true;
+  private volatile OkHttpClient http;
+  @Nullable
+  private volatile ResponseCache responseCache;
   private final String userAgent;
   private final String credentials;
 
@@ -64,8 +108,180 @@ public abstract class Client {
   public Client(String userAgent, String credentials) {
     this.userAgent = userAgent;
     this.credentials = credentials;
+    this.scheduler = new RequestScheduler(1);
     this.rateLimiter = new RateLimiter();
-    this.http = new OkHttpClient();
+    this.caches = new EntityCaches(this);
+    this.http = newHttpClient(null);
+  }
+
+  /**
+   * Initializes a new Reddit client which delegates to the given client. Both
+   * clients share the same user agent, credentials, scheduler and rate limit.
+   * The new client has its own caches, so that missing Things are requested
+   * through the new client.
+   *
+   * @param template The client whose state is shared.
+   */
+  Client(Client template) {
+    this.userAgent = template.userAgent;
+    this.credentials = template.credentials;
+    this.scheduler = template.scheduler;
+    this.rateLimiter = template.rateLimiter;
+    this.caches = new EntityCaches(this);
+    this.http = template.http;
+  }
+
+  /**
+   * Sets the maximum number of requests that may be executed concurrently by
+   * this client. Requests exceeding this limit wait until one of the active
+   * requests has finished and are then dispatched based on their
+   * {@link Priority}. All requests still share the same rate limit.<br>
+   * Requests that are already in progress are not affected by the new limit.
+   *
+   * @param maxConcurrentRequests The maximum number of parallel requests.
+   */
+  public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+    scheduler.setCapacity(maxConcurrentRequests);
+    setMaxRequests(http.dispatcher(), maxConcurrentRequests);
+  }
+
+  /**
+   * Returns the scheduler which dispatches the requests of this client. It
+   * provides the queue depth and waiting times of each {@link Priority}.
+   *
+   * @return The request scheduler of this client.
+   */
+  public RequestScheduler getScheduler() {
+    return scheduler;
+  }
+
+  /**
+   * Sets the executor on which asynchronous requests are performed. Each request
+   * is executed as a separate, blocking task. This is intended to be used with
+   * executors that create a new (virtual) thread per task, e.g.
+   * {@code Executors.newVirtualThreadPerTaskExecutor()} on Java 21 or newer.<br>
+   * If {@code null}, asynchronous requests are enqueued via the HTTP client.
+   *
+   * @param executor The executor used for asynchronous requests. May be
+   *                 {@code null}.
+   */
+  public void setExecutor(@Nullable Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Returns the client whose credentials are used for user-scoped requests, i.e.
+   * requests made on behalf of the account through which the client is logged in.
+   * For a single client, this is the client itself.
+   *
+   * @return The client owning the user-scoped requests.
+   */
+  public Client getOwner() {
+    return this;
+  }
+
+  /**
+   * Returns the entity caches of this client. Use them to configure size and
+   * expiration of the cached Things or to inspect their hit rates.
+   *
+   * @return The entity caches of this client.
+   */
+  public EntityCaches getCaches() {
+    return caches;
+  }
+
+  /**
+   * Enables or disables the coalescing of concurrent GET requests. If enabled,
+   * identical GET requests which are performed while another one is still in
+   * flight don't reach the API but share the response of the first request.
+   * Coalescing is enabled by default.
+   *
+   * @param coalescing {@code true}, if concurrent GET requests are coalesced.
+   */
+  public void setRequestCoalescing(boolean coalescing) {
+    this.coalescing = coalescing;
+  }
+
+  /**
+   * Sets the cache in which the responses of GET requests are stored. Caching is
+   * disabled by default. The same cache may be used by multiple clients.<br>
+   * Requests that are already in progress are not affected by the new cache.
+   *
+   * @param responseCache The response cache. May be {@code null}, in which case
+   *                      caching is disabled.
+   */
+  public void setResponseCache(@Nullable ResponseCache responseCache) {
+    this.http = newHttpClient(responseCache);
+    this.responseCache = responseCache;
+  }
+
+  /**
+   * Returns the cache in which the responses of GET requests are stored.
+   *
+   * @return The response cache or {@code null}, if caching is disabled.
+   */
+  @Nullable
+  public ResponseCache getResponseCache() {
+    return responseCache;
+  }
+
+  RateLimiter getRateLimiter() {
+    return rateLimiter;
+  }
+
+  /**
+   * Creates the HTTP client performing the requests. The rate limit is applied as
+   * a network interceptor, so that responses served from the cache neither use
+   * up the remaining requests, nor are delayed.
+   *
+   * @param responseCache The response cache. May be {@code null}.
+   * @return A new HTTP client.
+   */
+  private OkHttpClient newHttpClient(@Nullable ResponseCache responseCache) {
+    OkHttpClient.Builder builder = new OkHttpClient.Builder().addNetworkInterceptor(this::limit);
+
+    if (responseCache != null) {
+      builder.cache(responseCache.getCache()).addNetworkInterceptor(responseCache);
+    }
+
+    OkHttpClient result = builder.build();
+    setMaxRequests(result.dispatcher(), scheduler.getCapacity());
+    return result;
+  }
+
+  /**
+   * Aligns the number of asynchronous calls executed by the HTTP client with the
+   * capacity of the scheduler. Otherwise, dispatched requests would wait in the
+   * queue of the HTTP client, which doesn't respect their {@link Priority}.
+   *
+   * @param dispatcher  The dispatcher of the HTTP client.
+   * @param maxRequests The maximum number of requests executed at once.
+   */
+  private static void setMaxRequests(Dispatcher dispatcher, int maxRequests) {
+    dispatcher.setMaxRequests(maxRequests);
+    dispatcher.setMaxRequestsPerHost(maxRequests);
+  }
+
+  /**
+   * Waits until the request is within the rate limit and updates the rate limit
+   * based on the response.
+   *
+   * @param chain The network chain of the HTTP client.
+   * @return The response returned by Reddit.
+   * @throws IOException If the request couldn't be executed.
+   */
+  private Response limit(Interceptor.Chain chain) throws IOException {
+    try {
+      // Wait if we're making too many requests at once
+      rateLimiter.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(e.getMessage());
+    }
+
+    Response response = chain.proceed(chain.request());
+    rateLimiter.update(response);
+    return response;
   }
 
   protected void addShutdownHook() {
@@ -91,31 +307,149 @@ public abstract class Client {
    * provided {@link Request}. However, it also checks if the current access token
    * is still valid. In case it expired, a new one will be fetched automatically.
    *
+   * If the request doesn't specify an {@link HttpHeaders#AUTHORIZATION} header,
+   * the current access token is used.<br>
+   * Concurrent GET requests to the same URL are coalesced, unless disabled via
+   * {@link #setRequestCoalescing(boolean)}.
+   *
    * @param request The request transmitted to Reddit.
    * @return The HTTP {@link Response} corresponding to the {@link Request}.
    * @throws FailedRequestException In case the request was rejected by the API.
    */
-  public synchronized String send(Request request) throws FailedRequestException {
+  public String send(Request request) throws FailedRequestException {
+    return send(request, ResponseBody::string);
+  }
+
+  /**
+   * Variant of {@link #send(Request)}, where the body of the response is
+   * converted by the given reader, instead of being returned as a string.<br>
+   * Concurrent GET requests to the same URL are coalesced, unless disabled via
+   * {@link #setRequestCoalescing(boolean)}. The body of a coalesced response is
+   * buffered in memory and converted by the reader of each caller.
+   *
+   * @param request The request transmitted to Reddit.
+   * @param reader  The reader converting the response body.
+   * @param <T>     The type of the converted response.
+   * @return The converted body of the HTTP {@link Response}.
+   * @throws FailedRequestException In case the request was rejected by the API.
+   */
+  public <T> T send(Request request, ResponseReader<T> reader) throws FailedRequestException {
+    if (coalescing && "GET".equals(request.method())) {
+      return inFlight.send(request, r -> transmit(r, InFlightRequests.Body::of), reader);
+    }
+
+    return transmit(request, reader);
+  }
+
+  private <T> T transmit(Request request, ResponseReader<T> reader)
+      throws FailedRequestException {
     // Token is only request for OAuth2 requests
-    if (RequestBuilder.WWW.equals(request.url().host())) {
-      return _send(request);
+    if (!RequestBuilder.WWW.equals(request.url().host())) {
+      validateToken();
+      return _send(authorize(request), reader);
     }
 
-    Objects.requireNonNull(token);
+    return _send(request, reader);
+  }
+
+  /**
+   * Asynchronous variant of {@link #send(Request)}. The request is enqueued and
+   * executed in the background, once it is within the rate limit.<br>
+   * If the access token expired, it is refreshed on the calling thread before
+   * the request is enqueued. In case the request was rejected, the returned
+   * future completes exceptionally with a {@link FailedRequestException}.<br>
+   * If an executor has been set, the request is instead performed by calling
+   * {@link #send(Request)} on said executor.
+   *
+   * @param request The request transmitted to Reddit.
+   * @return A future containing the body of the HTTP {@link Response}.
+   * @see #setExecutor(Executor)
+   */
+  public CompletableFuture<String> sendAsync(Request request) {
+    return sendAsync(request, ResponseBody::string);
+  }
 
-    // Make sure that the token is still valid
-    if (token.isExpired()) {
-      refresh();
+  /**
+   * Asynchronous variant of {@link #send(Request, ResponseReader)}.
+   *
+   * @param request The request transmitted to Reddit.
+   * @param reader  The reader converting the response body.
+   * @param <T>     The type of the converted response.
+   * @return A future containing the converted body of the HTTP {@link Response}.
+   * @see #sendAsync(Request)
+   */
+  public <T> CompletableFuture<T> sendAsync(Request request, ResponseReader<T> reader) {
+    @Nullable
+    Executor current = executor;
+
+    if (current != null) {
+      return CompletableFuture.supplyAsync(() -> {
+        try {
+          return send(request, reader);
+        } catch (FailedRequestException e) {
+          throw new CompletionException(e);
+        }
+      }, current);
     }
 
-    return _send(request);
+    // Token is only request for OAuth2 requests
+    if (!RequestBuilder.WWW.equals(request.url().host())) {
+      try {
+        validateToken();
+      } catch (FailedRequestException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+      return _sendAsync(authorize(request), reader);
+    }
+
+    return _sendAsync(request, reader);
+  }
+
+  /**
+   * Attaches the current access token to the request. Any
+   * {@link HttpHeaders#AUTHORIZATION} header the request already specifies is
+   * replaced, as it may contain a token which has since been refreshed.
+   *
+   * @param request The request transmitted to Reddit.
+   * @return The authorized request.
+   */
+  private Request authorize(Request request) {
+    TokenEntity current = Objects.requireNonNull(token);
+    return request.newBuilder() //
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + current.getAccessToken()) //
+        .build();
+  }
+
+  /**
+   * Checks whether the current access token is still valid and requests a new
+   * one, in case it expired. When multiple threads encounter the same expired
+   * token, only the first one refreshes it. All other threads wait until the
+   * refresh has finished and then continue with the new token.
+   *
+   * @throws FailedRequestException In case the token couldn't be refreshed.
+   */
+  protected void validateToken() throws FailedRequestException {
+    TokenEntity current = Objects.requireNonNull(token);
+
+    if (current.isExpired()) {
+      tokenLock.lock();
+      try {
+        // Another thread may have already refreshed the token
+        if (current == token) {
+          refresh();
+        }
+      } finally {
+        tokenLock.unlock();
+      }
+    }
   }
 
   /**
    * This method serves three purposes. The primary purpose is to execute the
    * provided {@link Request}. In addition, it also makes sure that all requests
    * are made within the rate limit and, if necessary, waits until the next
-   * {@link Request} can be made.<br>
+   * {@link Request} can be made. Waiting requests are dispatched based on the
+   * {@link Priority} attached to the {@link Request}.<br>
    * It also checks if the {@link Request} was accepted and, upon error, throws
    * the corresponding exception.<br>
    * This method should <b>NEVER</b> be used anywhere outside the {@code login()}
@@ -125,14 +459,113 @@ public abstract class Client {
    * @return The HTTP {@link Response} corresponding to the {@link Request}.
    * @throws FailedRequestException In case the request was rejected by the API.
    */
-  protected synchronized String _send(Request request) throws FailedRequestException {
+  protected String _send(Request request) throws FailedRequestException {
+    return _send(request, ResponseBody::string);
+  }
+
+  /**
+   * Variant of {@link #_send(Request)}, where the body of the response is
+   * converted by the given reader, instead of being returned as a string.
+   *
+   * @param request The request transmitted to Reddit.
+   * @param reader  The reader converting the response body.
+   * @param <T>     The type of the converted response.
+   * @return The converted body of the HTTP {@link Response}.
+   * @throws FailedRequestException In case the request was rejected by the API.
+   */
+  protected <T> T _send(Request request, ResponseReader<T> reader) throws FailedRequestException {
     try {
-      // Wait if we're making too many requests at once
-      rateLimiter.acquire();
+      scheduler.acquire(getPriority(request));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw FailedRequestException.wrap(e);
+    }
 
+    try {
       LOGGER.debug("--> {}", request);
-      Response response = http.newCall(request).execute();
-      rateLimiter.update(response);
+      return read(http.newCall(request).execute(), reader);
+    } catch (IOException e) {
+      throw FailedRequestException.wrap(e);
+    } finally {
+      scheduler.release();
+    }
+  }
+
+  /**
+   * Asynchronous variant of {@link #_send(Request)}. Instead of blocking, the
+   * request is enqueued once it may be executed. The rate limit is then applied
+   * by the HTTP client, unless the response is served from the cache.<br>
+   * This method should <b>NEVER</b> be used anywhere outside the {@code login()}
+   * and {@code refresh} methods as it bypasses the token validation.
+   *
+   * @param request The request transmitted to Reddit.
+   * @return A future containing the body of the HTTP {@link Response}.
+   */
+  protected CompletableFuture<String> _sendAsync(Request request) {
+    return _sendAsync(request, ResponseBody::string);
+  }
+
+  /**
+   * Asynchronous variant of {@link #_send(Request, ResponseReader)}.
+   *
+   * @param request The request transmitted to Reddit.
+   * @param reader  The reader converting the response body.
+   * @param <T>     The type of the converted response.
+   * @return A future containing the converted body of the HTTP {@link Response}.
+   */
+  protected <T> CompletableFuture<T> _sendAsync(Request request, ResponseReader<T> reader) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+
+    scheduler.acquireAsync(getPriority(request)) //
+        .thenRun(() -> {
+          LOGGER.debug("--> {}", request);
+          http.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+              scheduler.release();
+              result.completeExceptionally(FailedRequestException.wrap(e));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+              try {
+                result.complete(read(response, reader));
+              } catch (FailedRequestException e) {
+                result.completeExceptionally(e);
+              } finally {
+                scheduler.release();
+              }
+            }
+          });
+        }) //
+        .exceptionally(e -> {
+          scheduler.release();
+          result.completeExceptionally(e);
+          return null;
+        });
+
+    return result;
+  }
+
+  private static Priority getPriority(Request request) {
+    @Nullable
+    Priority priority = request.tag(Priority.class);
+    return priority == null ? Priority.NORMAL : priority;
+  }
+
+  /**
+   * Checks if the {@link Request} was accepted. Upon
+   * error, the corresponding exception is thrown. The response is closed after
+   * its body has been read.
+   *
+   * @param response The HTTP response returned by Reddit.
+   * @param reader   The reader converting the response body.
+   * @param <T>      The type of the converted response.
+   * @return The converted body of the HTTP {@link Response}.
+   * @throws FailedRequestException In case the request was rejected by the API.
+   */
+  private <T> T read(Response response, ResponseReader<T> reader) throws FailedRequestException {
+    try (response) {
       LOGGER.debug("<-- {}", response);
       LOGGER.debug("{} calls used, {} remain, {} seconds until next period", rateLimiter.getUsed(),
           rateLimiter.getRemaining(), rateLimiter.getReset());
@@ -143,8 +576,8 @@ public abstract class Client {
 
       @Nullable
       ResponseBody responseBody = response.body();
-      return Objects.requireNonNull(responseBody).string();
-    } catch (IOException | InterruptedException e) {
+      return reader.read(Objects.requireNonNull(responseBody));
+    } catch (IOException e) {
       throw FailedRequestException.wrap(e);
     }
   }
@@ -168,23 +601,26 @@ public abstract class Client {
    *
    * @throws FailedRequestException In case the request was rejected by the API.
    */
-  public synchronized void refresh() throws FailedRequestException {
-    assert token != null;
+  public void refresh() throws FailedRequestException {
+    tokenLock.lock();
+    try {
+      assert token != null;
 
-    LOGGER.info("Refresh access token.");
-    Objects.requireNonNull(token);
-    Objects.requireNonNull(token.getRefreshToken());
+      LOGGER.info("Refresh access token.");
+      Objects.requireNonNull(token);
+      Objects.requireNonNull(token.getRefreshToken());
 
-    Map<Object, Object> body = new HashMap<>();
-    body.put("grant_type", GrantType.REFRESH);
-    body.put("refresh_token", token.getRefreshToken());
+      Map<Object, Object> body = new HashMap<>();
+      body.put("grant_type", GrantType.REFRESH);
+      body.put("refresh_token", token.getRefreshToken());
 
-    String response = newTokenRequest().withBody(body).post();
+      String response = newTokenRequest().withBody(body).post();
 
-    try {
       token = TokenEntity.read(response);
     } catch (IOException e) {
       throw FailedRequestException.wrap(e);
+    } finally {
+      tokenLock.unlock();
     }
   }
 
@@ -255,31 +691,26 @@ public abstract class Client {
 
   /**
    * Creates a new builder instance and initializes it with the
-   * {@link HttpHeaders#AUTHORIZATION} and {@link HttpHeaders#USER_AGENT} headers,
-   * based on the configuration files.
+   * {@link HttpHeaders#USER_AGENT} header. The {@link HttpHeaders#AUTHORIZATION}
+   * header is added when the request is sent, using the access token that is
+   * current at that time.
    *
    * @return A new builder instance for a REST request.
    */
   public RequestBuilder newRequest() {
-    assert token != null;
-
-    Objects.requireNonNull(token);
-
-    return new RequestBuilder(this, BodyType.JSON)
-        .withHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token.getAccessToken())
-        .withHeader(HttpHeaders.USER_AGENT, userAgent);
+    return new RequestBuilder(this, BodyType.JSON).withHeader(HttpHeaders.USER_AGENT, userAgent);
   }
 
   protected RequestBuilder newTokenRequest() {
     return new RequestBuilder(this, BodyType.FORM).withHost(RequestBuilder.WWW)
-        .withEndpoint(OAuth2.ACCESS_TOKEN)
+        .withEndpoint(OAuth2.ACCESS_TOKEN).withPriority(Priority.HIGH)
         .withHeader(HttpHeaders.AUTHORIZATION, "Basic " + credentials)
         .withHeader(HttpHeaders.USER_AGENT, userAgent);
   }
 
   protected RequestBuilder newTokenRevokeRequest() {
     return new RequestBuilder(this, BodyType.JSON).withHost(RequestBuilder.WWW)
-        .withEndpoint(OAuth2.REVOKE_TOKEN)
+        .withEndpoint(OAuth2.REVOKE_TOKEN).withPriority(Priority.HIGH)
         .withHeader(HttpHeaders.AUTHORIZATION, "Basic " + credentials)
         .withHeader(HttpHeaders.USER_AGENT, userAgent);
   }
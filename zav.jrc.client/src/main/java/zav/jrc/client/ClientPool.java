@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package zav.jrc.client;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.Request;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zav.jrc.client.http.RequestBuilder.Credentials;
+import zav.jrc.client.http.ResponseCache;
+import zav.jrc.client.http.ResponseReader;
+
+/**
+ * A client which distributes its requests over multiple clients, each using
+ * their own credentials. Because Reddit enforces the rate limit per OAuth
+ * client, this increases the total number of requests that can be made.<br>
+ * By default, all requests are made by the owner of this pool, i.e. the first
+ * member, as their response may depend on the authenticated account. Only
+ * {@code GET} requests which have been explicitly marked as
+ * {@link Credentials#ANY credential-independent} are routed to the member with
+ * the most remaining requests in its current window.<br>
+ * The scheduler and rate limit of the pool are those of its owner. Missing
+ * entries of the pool's own caches are requested through the pool.<br>
+ * Logging in, refreshing and revoking the access tokens is performed for every
+ * member.
+ */
+@NonNullByDefault
+public class ClientPool extends Client {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ClientPool.class);
+  private final List<Client> members;
+  /**
+   * Used to distribute requests evenly among members with the same budget.
+   */
+  private final AtomicInteger offset = new AtomicInteger();
+
+  /**
+   * Creates a new pool over the given clients. The first client is the owner of
+   * all user-scoped requests.
+   *
+   * @param members The clients used for performing the requests.
+   */
+  public ClientPool(List<? extends Client> members) {
+    super(members.get(0).getOwner());
+    this.members = List.copyOf(members);
+  }
+
+  /**
+   * Returns the member at the given position. May be used to make user-scoped
+   * requests on behalf of a specific member.
+   *
+   * @param index The position of the member.
+   * @return The member at the given position.
+   */
+  public Client getMember(int index) {
+    return members.get(index);
+  }
+
+  public int size() {
+    return members.size();
+  }
+
+  @Override
+  public Client getOwner() {
+    return members.get(0).getOwner();
+  }
+
+  @Override
+  public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+    members.forEach(member -> member.setMaxConcurrentRequests(maxConcurrentRequests));
+  }
+
+  @Override
+  public void setExecutor(@Nullable Executor executor) {
+    members.forEach(member -> member.setExecutor(executor));
+  }
+
+  @Override
+  public void setResponseCache(@Nullable ResponseCache responseCache) {
+    members.forEach(member -> member.setResponseCache(responseCache));
+  }
+
+  @Override
+  @Nullable
+  public ResponseCache getResponseCache() {
+    return getOwner().getResponseCache();
+  }
+
+  @Override
+  public <T> T send(Request request, ResponseReader<T> reader) throws FailedRequestException {
+    return route(request).send(request, reader);
+  }
+
+  @Override
+  public <T> CompletableFuture<T> sendAsync(Request request, ResponseReader<T> reader) {
+    return route(request).sendAsync(request, reader);
+  }
+
+  /**
+   * Selects the member which performs the request.
+   *
+   * @param request The request transmitted to Reddit.
+   * @return The member with the most remaining requests, in case of a
+   *         credential-independent {@code GET} request, otherwise the owner.
+   */
+  private Client route(Request request) {
+    if (!"GET".equals(request.method()) || request.tag(Credentials.class) != Credentials.ANY) {
+      return getOwner();
+    }
+
+    int start = Math.floorMod(offset.getAndIncrement(), members.size());
+    Client result = members.get(start);
+
+    for (int i = 1; i < members.size(); ++i) {
+      Client member = members.get((start + i) % members.size());
+      if (member.getRateLimiter().getRemaining() > result.getRateLimiter().getRemaining()) {
+        result = member;
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Authenticates all members of this pool.
+   *
+   * @param duration The lifetime of the tokens.
+   * @throws FailedRequestException In case any of the requests was rejected.
+   */
+  @Override
+  public void login(Duration duration) throws FailedRequestException {
+    for (Client member : members) {
+      member.login(duration);
+    }
+  }
+
+  /**
+   * Requests a new access token for all members of this pool.
+   *
+   * @throws FailedRequestException In case any of the requests was rejected.
+   */
+  @Override
+  public void refresh() throws FailedRequestException {
+    for (Client member : members) {
+      member.refresh();
+    }
+  }
+
+  /**
+   * Invalidates the tokens of all members of this pool. A member failing to
+   * revoke its tokens doesn't prevent the other members from revoking theirs.
+   *
+   * @throws FailedRequestException In case any of the requests was rejected.
+   */
+  @Override
+  public void logout() throws FailedRequestException {
+    @Nullable
+    FailedRequestException cause = null;
+
+    for (Client member : members) {
+      try {
+        member.logout();
+      } catch (FailedRequestException e) {
+        LOGGER.error(e.getMessage(), e);
+        cause = cause == null ? e : cause;
+      }
+    }
+
+    if (cause != null) {
+      throw cause;
+    }
+  }
+}
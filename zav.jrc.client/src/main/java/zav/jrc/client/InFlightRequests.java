@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package zav.jrc.client;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import zav.jrc.client.http.ResponseReader;
+
+/**
+ * Coalesces identical GET requests which are performed concurrently. Only the
+ * first thread actually transmits the request, while all other threads wait for
+ * and share its response. Requests are identical, if they have the same URL and
+ * headers. Once the response has been received, the request is no longer
+ * considered in flight, meaning that subsequent requests are transmitted again.
+ * <br>
+ * The shared response body is buffered in memory, so that each thread can
+ * convert it with its own {@link ResponseReader}.
+ */
+@NonNullByDefault
+final class InFlightRequests {
+  private final Map<String, CompletableFuture<Body>> requests = new ConcurrentHashMap<>();
+
+  /**
+   * Performs the given request or, if an identical request is already in
+   * flight, waits for its response instead.
+   *
+   * @param request The GET request.
+   * @param call    Transmits the request, if it isn't already in flight.
+   * @param reader  The reader converting the shared response body.
+   * @param <T>     The type of the converted response.
+   * @return The converted body of the response.
+   * @throws FailedRequestException In case the request was rejected by the API.
+   */
+  public <T> T send(Request request, Call call, ResponseReader<T> reader)
+      throws FailedRequestException {
+    String key = request.url() + "\n" + request.headers();
+
+    CompletableFuture<Body> created = new CompletableFuture<>();
+    @Nullable
+    CompletableFuture<Body> shared = requests.putIfAbsent(key, created);
+
+    if (shared != null) {
+      return await(shared).read(reader);
+    }
+
+    Body result;
+
+    try {
+      result = call.send(request);
+      created.complete(result);
+    } catch (FailedRequestException | RuntimeException e) {
+      created.completeExceptionally(e);
+      throw e;
+    } finally {
+      requests.remove(key, created);
+    }
+
+    return result.read(reader);
+  }
+
+  private static Body await(CompletableFuture<Body> shared) throws FailedRequestException {
+    try {
+      return shared.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw FailedRequestException.wrap(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof FailedRequestException) {
+        throw (FailedRequestException) e.getCause();
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw FailedRequestException.wrap(e);
+    }
+  }
+
+  /**
+   * Returns the number of requests which are currently in flight.
+   *
+   * @return The number of distinct requests in flight.
+   */
+  public int size() {
+    return requests.size();
+  }
+
+  /**
+   * Transmits a single request.
+   */
+  @FunctionalInterface
+  interface Call {
+    Body send(Request request) throws FailedRequestException;
+  }
+
+  /**
+   * The buffered body of a response, which may be read by multiple threads.
+   */
+  static final class Body {
+    private final byte[] bytes;
+    @Nullable
+    private final MediaType contentType;
+
+    Body(byte[] bytes, @Nullable MediaType contentType) {
+      this.bytes = bytes;
+      this.contentType = contentType;
+    }
+
+    /**
+     * Buffers the given response body.
+     *
+     * @param body The body of the response.
+     * @return The buffered body.
+     * @throws IOException If the body couldn't be read.
+     */
+    static Body of(ResponseBody body) throws IOException {
+      return new Body(body.bytes(), body.contentType());
+    }
+
+    /**
+     * Converts a fresh copy of the buffered body with the given reader.
+     *
+     * @param reader The reader converting the body.
+     * @param <T>    The type of the converted body.
+     * @return The converted body.
+     * @throws FailedRequestException If the body couldn't be converted.
+     */
+    <T> T read(ResponseReader<T> reader) throws FailedRequestException {
+      try (ResponseBody body = ResponseBody.create(bytes, contentType)) {
+        return reader.read(body);
+      } catch (IOException e) {
+        throw FailedRequestException.wrap(e);
+      }
+    }
+  }
+}
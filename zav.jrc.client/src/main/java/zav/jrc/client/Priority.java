@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package zav.jrc.client;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The priority class of a request. When more requests are made than the client
+ * is able to execute at once, waiting requests are dispatched using weighted
+ * fair queuing. Each class receives a share of the requests proportional to its
+ * weight, so that e.g. latency-sensitive polling isn't starved by a burst of
+ * bulk requests, while bulk requests still make progress.
+ */
+@NonNullByDefault
+public enum Priority {
+  /**
+   * Latency-sensitive requests, such as polling for new submissions.
+   */
+  HIGH(8),
+  /**
+   * The default class of all requests.
+   */
+  NORMAL(4),
+  /**
+   * Bulk requests, such as scanning moderation lists.
+   */
+  LOW(1);
+
+  private final int weight;
+
+  Priority(int weight) {
+    this.weight = weight;
+  }
+
+  public int getWeight() {
+    return weight;
+  }
+}
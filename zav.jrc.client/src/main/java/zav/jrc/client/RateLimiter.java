@@ -17,9 +17,8 @@
 
 package zav.jrc.client;
 
-import static java.time.temporal.ChronoUnit.SECONDS;
-
-import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import okhttp3.Response;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -30,30 +29,50 @@ import org.eclipse.jdt.annotation.Nullable;
  * trigger a {@code HttpException} with error code 429 and in the worst case,
  * gets the application banned from making any further requests.<br>
  * API access is managed via windows. Within each window, a fixed amount of
- * requests can be made. Once those have been used up, the application has to
- * wait until the start of the next windows, until further requests can be made.
+ * requests can be made. Instead of using up all requests at once and then
+ * waiting until the start of the next window, the remaining requests are spread
+ * evenly over the remainder of the current window.<br>
+ * The state of the current window is replaced atomically, so acquiring a
+ * request never blocks on a lock. All times are measured using the monotonic
+ * {@link System#nanoTime()} clock.
  */
 @NonNullByDefault
 public class RateLimiter {
   private static final String USED = "x-ratelimit-used";
   private static final String REMAINING = "x-ratelimit-remaining";
   private static final String RESET = "x-ratelimit-reset";
-  private LocalDateTime lastResponse = LocalDateTime.MIN;
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+  /**
+   * The current request window. Until the first response has been received, the
+   * window is considered expired and requests are not paced.
+   */
+  private final AtomicReference<Window> window;
 
-  private long used = 0;
-  private long remaining = 60;
-  private long reset = 60;
+  /**
+   * Creates a new rate limiter without any information about the current window.
+   */
+  public RateLimiter() {
+    long now = System.nanoTime();
+    this.window = new AtomicReference<>(new Window(0, 60, now, now));
+  }
 
   public long getUsed() {
-    return used;
+    return window.get().used;
   }
 
   public long getRemaining() {
-    return remaining;
+    return window.get().remaining;
   }
 
+  /**
+   * Returns the number of seconds until the start of the next window.
+   *
+   * @return The number of seconds until the start of the next window.
+   */
   public long getReset() {
-    return reset;
+    long nanos = window.get().end - System.nanoTime();
+    // In case of fractional seconds, round up
+    return Math.max(0, (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
   }
 
   /**
@@ -63,44 +82,103 @@ public class RateLimiter {
    *
    * @param response The response from the latest REST request.
    */
-  public synchronized void update(Response response) {
-    lastResponse = LocalDateTime.now();
+  public void update(Response response) {
+    @Nullable
+    String used = response.header(USED);
     @Nullable
-    String value = response.header(USED);
+    String remaining = response.header(REMAINING);
+    @Nullable
+    String reset = response.header(RESET);
 
-    if (value != null) {
-      used = (long) Double.parseDouble(value);
+    // e.g. when authenticating the application
+    if (used == null && remaining == null && reset == null) {
+      return;
     }
 
-    value = response.header(REMAINING);
-    if (value != null) {
-      remaining = (long) Double.parseDouble(value);
-    }
+    long now = System.nanoTime();
+    Window current;
+    Window next;
 
-    value = response.header(RESET);
-    if (value != null) {
-      // In case of fractional seconds, round up
-      reset = (long) Math.ceil(Double.parseDouble(value));
-    }
+    do {
+      current = window.get();
+
+      long newUsed = used == null ? current.used : (long) Double.parseDouble(used);
+      long newRemaining = remaining == null ? current.remaining
+          : (long) Double.parseDouble(remaining);
+      long newEnd = reset == null ? current.end
+          : now + (long) (Double.parseDouble(reset) * NANOS_PER_SECOND);
+
+      // Keep the time of the next free slot, as it may have already been reserved
+      next = new Window(newUsed, newRemaining, newEnd, current.next);
+    } while (!window.compareAndSet(current, next));
   }
 
   /**
-   * In case a request can be made within the current window, the method returns
-   * immediately. Otherwise, the method will block until the start of the next
-   * request window.
+   * Reserves a request within the current window and blocks until said request
+   * can be made. Requests are spaced evenly over the remainder of the window. In
+   * case no more requests are available, the method will block until the start of
+   * the next request window.
    *
    * @throws InterruptedException In case the current thread has been interrupted,
-   *                              while waiting for the start of the next request
-   *                              window.
+   *                              while waiting for its request.
    */
   public void acquire() throws InterruptedException {
-    // Out of available requests?
-    if (remaining <= 0) {
-      LocalDateTime now = LocalDateTime.now();
-      // Wait until the start of the next period
-      if (SECONDS.between(lastResponse, now) < reset && SECONDS.between(lastResponse, now) > 0) {
-        Thread.sleep((reset - SECONDS.between(lastResponse, now)) * 1000);
+    TimeUnit.NANOSECONDS.sleep(reserve());
+  }
+
+  /**
+   * Reserves the next free slot within the current window. The interval between
+   * two slots is the time until the end of the window divided by the number of
+   * remaining requests.
+   *
+   * @return The number of nanoseconds until the reserved request can be made.
+   */
+  private long reserve() {
+    while (true) {
+      long now = System.nanoTime();
+      Window current = window.get();
+
+      // Window expired, but no response was received yet that opens a new one
+      if (current.end - now <= 0) {
+        return 0;
+      }
+
+      // Out of available requests? Wait until the start of the next period
+      if (current.remaining <= 0) {
+        return current.end - now;
+      }
+
+      long start = current.next - now > 0 ? current.next : now;
+      long interval = (current.end - start) / current.remaining;
+      Window next = new Window(current.used + 1, current.remaining - 1, current.end,
+          start + interval);
+
+      if (window.compareAndSet(current, next)) {
+        return start - now;
       }
     }
   }
+
+  /**
+   * An immutable snapshot of the current request window.
+   */
+  private static final class Window {
+    private final long used;
+    private final long remaining;
+    /**
+     * The time in nanoseconds when this window ends.
+     */
+    private final long end;
+    /**
+     * The time in nanoseconds when the next request can be made.
+     */
+    private final long next;
+
+    private Window(long used, long remaining, long end, long next) {
+      this.used = used;
+      this.remaining = remaining;
+      this.end = end;
+      this.next = next;
+    }
+  }
 }
@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package zav.jrc.client;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The scheduler restricts the number of requests that are executed at the same
+ * time. Requests exceeding this limit are queued by their {@link Priority} and
+ * dispatched using weighted fair queuing. Each queued request is assigned a
+ * virtual finish time based on the weight of its class. Whenever a request
+ * finishes, the waiting request with the earliest finish time is dispatched
+ * next.<br>
+ * For each priority class, the scheduler keeps track of the current queue depth
+ * as well as the time requests had to wait before being dispatched.
+ */
+@NonNullByDefault
+public class RequestScheduler {
+  private final Lock lock = new ReentrantLock();
+  private final Map<Priority, Deque<Ticket>> queues = new EnumMap<>(Priority.class);
+  private final Map<Priority, Double> finishTimes = new EnumMap<>(Priority.class);
+  private final Map<Priority, Statistics> statistics = new EnumMap<>(Priority.class);
+  /**
+   * The virtual time of the scheduler, i.e. the finish time of the request that
+   * has been dispatched last.
+   */
+  private double virtualTime = 0;
+  private int capacity;
+  private int available;
+
+  /**
+   * Creates a new scheduler.
+   *
+   * @param capacity The maximum number of requests that are executed at once.
+   */
+  public RequestScheduler(int capacity) {
+    this.capacity = capacity;
+    this.available = capacity;
+
+    for (Priority priority : Priority.values()) {
+      queues.put(priority, new ArrayDeque<>());
+      finishTimes.put(priority, 0.0);
+      statistics.put(priority, new Statistics());
+    }
+  }
+
+  /**
+   * Changes the maximum number of requests that are executed at once. Requests
+   * that are already in progress are not affected by the new limit.
+   *
+   * @param capacity The maximum number of requests that are executed at once.
+   */
+  public void setCapacity(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("At least one concurrent request is required.");
+    }
+
+    List<Ticket> granted;
+
+    lock.lock();
+    try {
+      available += capacity - this.capacity;
+      this.capacity = capacity;
+      granted = dispatch();
+    } finally {
+      lock.unlock();
+    }
+
+    granted.forEach(Ticket::grant);
+  }
+
+  /**
+   * Returns the maximum number of requests that are executed at once.
+   *
+   * @return The capacity of this scheduler.
+   */
+  public int getCapacity() {
+    lock.lock();
+    try {
+      return capacity;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Blocks until a request of the given priority may be executed. Every call to
+   * this method has to be followed by a call to {@link #release()}, once the
+   * request has finished.
+   *
+   * @param priority The priority class of the request.
+   * @throws InterruptedException In case the current thread has been interrupted
+   *                              while waiting.
+   */
+  public void acquire(Priority priority) throws InterruptedException {
+    CompletableFuture<Void> future = acquireAsync(priority);
+
+    try {
+      future.get();
+    } catch (InterruptedException e) {
+      // Release the request, in case it was dispatched in the meantime
+      if (!future.cancel(false)) {
+        release();
+      }
+      throw e;
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Asynchronous variant of {@link #acquire(Priority)}. The returned future
+   * completes, once the request may be executed. Cancelling the future removes
+   * the request from the queue.
+   *
+   * @param priority The priority class of the request.
+   * @return A future that completes once the request is dispatched.
+   */
+  public CompletableFuture<Void> acquireAsync(Priority priority) {
+    Ticket ticket;
+    List<Ticket> granted;
+
+    lock.lock();
+    try {
+      double start = Math.max(virtualTime, finishTimes.get(priority));
+      double finish = start + 1.0 / priority.getWeight();
+
+      finishTimes.put(priority, finish);
+      ticket = new Ticket(priority, finish);
+      queues.get(priority).add(ticket);
+      granted = dispatch();
+    } finally {
+      lock.unlock();
+    }
+
+    granted.forEach(Ticket::grant);
+
+    ticket.future.whenComplete((ignored, e) -> {
+      if (ticket.future.isCancelled()) {
+        remove(ticket);
+      }
+    });
+
+    return ticket.future;
+  }
+
+  /**
+   * Signals that a request has finished and dispatches the next waiting request.
+   */
+  public void release() {
+    List<Ticket> granted;
+
+    lock.lock();
+    try {
+      available++;
+      granted = dispatch();
+    } finally {
+      lock.unlock();
+    }
+
+    granted.forEach(Ticket::grant);
+  }
+
+  /**
+   * Returns the number of requests of the given priority that are currently
+   * waiting to be dispatched.
+   *
+   * @param priority The priority class.
+   * @return The number of waiting requests.
+   */
+  public int getQueueDepth(Priority priority) {
+    lock.lock();
+    try {
+      return queues.get(priority).size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of requests of the given priority that have been
+   * dispatched so far.
+   *
+   * @param priority The priority class.
+   * @return The number of dispatched requests.
+   */
+  public long getDispatched(Priority priority) {
+    return statistics.get(priority).dispatched.sum();
+  }
+
+  /**
+   * Returns the average time requests of the given priority had to wait, before
+   * they were dispatched.
+   *
+   * @param priority The priority class.
+   * @return The average waiting time.
+   */
+  public java.time.Duration getAverageWaitTime(Priority priority) {
+    Statistics current = statistics.get(priority);
+    long dispatched = current.dispatched.sum();
+    return java.time.Duration.ofNanos(dispatched == 0 ? 0 : current.waitTime.sum() / dispatched);
+  }
+
+  /**
+   * Returns the longest time a request of the given priority had to wait, before
+   * it was dispatched.
+   *
+   * @param priority The priority class.
+   * @return The maximum waiting time.
+   */
+  public java.time.Duration getMaxWaitTime(Priority priority) {
+    return java.time.Duration.ofNanos(statistics.get(priority).maxWaitTime.get());
+  }
+
+  private void remove(Ticket ticket) {
+    lock.lock();
+    try {
+      queues.get(ticket.priority).remove(ticket);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes the waiting requests with the earliest finish time from their queues,
+   * as long as requests can be executed. Must only be called while holding the
+   * lock. The returned requests have to be granted after the lock has been
+   * released, so that no callbacks are executed while holding the lock.
+   *
+   * @return The requests that have been dispatched.
+   */
+  private List<Ticket> dispatch() {
+    List<Ticket> granted = new ArrayList<>();
+
+    while (available > 0) {
+      @Nullable
+      Ticket next = null;
+
+      for (Deque<Ticket> queue : queues.values()) {
+        @Nullable
+        Ticket head = queue.peek();
+        if (head != null && (next == null || head.finish < next.finish)) {
+          next = head;
+        }
+      }
+
+      if (next == null) {
+        break;
+      }
+
+      queues.get(next.priority).poll();
+      virtualTime = next.finish;
+      available--;
+      granted.add(next);
+    }
+
+    return granted;
+  }
+
+  /**
+   * A single request waiting to be dispatched.
+   */
+  private final class Ticket {
+    private final Priority priority;
+    private final double finish;
+    private final long creationTime = System.nanoTime();
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    private Ticket(Priority priority, double finish) {
+      this.priority = priority;
+      this.finish = finish;
+    }
+
+    private void grant() {
+      long waitTime = System.nanoTime() - creationTime;
+      Statistics current = statistics.get(priority);
+      current.dispatched.increment();
+      current.waitTime.add(waitTime);
+      current.maxWaitTime.accumulateAndGet(waitTime, Math::max);
+
+      // The request was cancelled while being dispatched
+      if (!future.complete(null)) {
+        release();
+      }
+    }
+  }
+
+  /**
+   * The waiting times of a single priority class.
+   */
+  private static final class Statistics {
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder waitTime = new LongAdder();
+    private final AtomicLong maxWaitTime = new AtomicLong();
+  }
+}
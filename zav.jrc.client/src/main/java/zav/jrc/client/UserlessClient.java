@@ -86,7 +86,12 @@ public class UserlessClient extends Client {
   }
 
   @Override
-  public synchronized void refresh() throws FailedRequestException {
-    login(Duration.TEMPORARY);
+  public void refresh() throws FailedRequestException {
+    tokenLock.lock();
+    try {
+      login(Duration.TEMPORARY);
+    } finally {
+      tokenLock.unlock();
+    }
   }
 }
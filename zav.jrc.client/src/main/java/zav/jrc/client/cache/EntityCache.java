@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package zav.jrc.client.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.client.http.RequestBuilder;
+import zav.jrc.client.http.ResponseReader;
+
+/**
+ * A cache over Things which are retrieved by name, e.g. accounts or
+ * subreddits. Missing entries are requested synchronously. Entries which are
+ * due for a refresh are still returned, while the new value is requested
+ * asynchronously in the background.
+ *
+ * @param <V> The type of the cached Things.
+ */
+@NonNullByDefault
+public final class EntityCache<V> {
+  private final LoadingCache<String, V> cache;
+  private final Class<V> type;
+
+  /**
+   * Creates a new cache.
+   *
+   * @param builder The configured cache builder.
+   * @param type    The class of the cached Things.
+   * @param request Creates the request for retrieving a single Thing by name.
+   * @param reader  Converts the response into the Thing.
+   */
+  EntityCache(Caffeine<Object, Object> builder, Class<V> type,
+      Function<String, RequestBuilder> request, ResponseReader<V> reader) {
+    this.type = type;
+    this.cache = builder.build(new Loader<>(request, reader));
+  }
+
+  /**
+   * Returns the cached Thing. If not cached, the Thing is requested and cached
+   * afterwards.
+   *
+   * @param name The name of the Thing.
+   * @return The (cached) Thing.
+   * @throws FailedRequestException If the API request was rejected.
+   */
+  public V get(String name) throws FailedRequestException {
+    try {
+      return cache.get(name);
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof FailedRequestException) {
+        throw (FailedRequestException) e.getCause();
+      }
+      throw FailedRequestException.wrap(e);
+    }
+  }
+
+  /**
+   * Returns the cached Thing, without requesting it.
+   *
+   * @param name The name of the Thing.
+   * @return The cached Thing or {@code null}, if not cached.
+   */
+  @Nullable
+  public V getIfPresent(String name) {
+    return cache.getIfPresent(name);
+  }
+
+  /**
+   * Caches a Thing, which has been retrieved by other means.
+   *
+   * @param name  The name of the Thing.
+   * @param value The Thing.
+   */
+  public void put(String name, V value) {
+    cache.put(name, value);
+  }
+
+  /**
+   * Removes a Thing from the cache.
+   *
+   * @param name The name of the Thing.
+   */
+  public void invalidate(String name) {
+    cache.invalidate(name);
+  }
+
+  /**
+   * Returns the approximate number of cached Things.
+   *
+   * @return The number of cached Things.
+   */
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  /**
+   * Returns the statistics of this cache. All counters are zero, unless the cache
+   * has been configured with {@code recordStats}.
+   *
+   * @return A snapshot of the cache statistics.
+   */
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+
+  Class<V> getType() {
+    return type;
+  }
+
+  /**
+   * Requests missing and outdated Things. Refreshes are performed as
+   * asynchronous requests of the client, instead of blocking a thread of the
+   * cache.
+   *
+   * @param <V> The type of the cached Things.
+   */
+  private static final class Loader<V> implements CacheLoader<String, V> {
+    private final Function<String, RequestBuilder> request;
+    private final ResponseReader<V> reader;
+
+    private Loader(Function<String, RequestBuilder> request, ResponseReader<V> reader) {
+      this.request = request;
+      this.reader = reader;
+    }
+
+    @Override
+    public V load(String name) throws FailedRequestException {
+      return request.apply(name).get(reader);
+    }
+
+    @Override
+    public CompletableFuture<? extends V> asyncLoad(String name, Executor executor) {
+      return request.apply(name).getAsync(reader);
+    }
+
+    @Override
+    public CompletableFuture<? extends V> asyncReload(String name, V oldValue,
+        Executor executor) {
+      return asyncLoad(name, executor);
+    }
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package zav.jrc.client.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import zav.jrc.api.endpoint.Subreddits;
+import zav.jrc.api.endpoint.Users;
+import zav.jrc.client.Client;
+import zav.jrc.client.http.RequestBuilder;
+import zav.jrc.client.http.RequestBuilder.Credentials;
+import zav.jrc.client.http.ResponseReader;
+import zav.jrc.databind.AccountEntity;
+import zav.jrc.databind.SubredditEntity;
+import zav.jrc.databind.Things;
+
+/**
+ * The entity caches of a single client. Each cache is identified by its name
+ * and configured via a Caffeine specification, e.g.
+ * {@code maximumSize=1000,expireAfterWrite=1h,refreshAfterWrite=5m}. Bounds
+ * are given as number of entries, as all cached Things are of similar size.
+ * Caches are created lazily, upon first access.
+ */
+@NonNullByDefault
+public final class EntityCaches {
+  /**
+   * The name of the cache containing the accounts, by user name.
+   */
+  public static final String ACCOUNTS = "accounts";
+  /**
+   * The name of the cache containing the subreddits, by subreddit name.
+   */
+  public static final String SUBREDDITS = "subreddits";
+  /**
+   * The name of the cache containing arbitrary Things, by fullname.
+   *
+   * @see ThingResolver
+   */
+  public static final String THINGS = "things";
+  /**
+   * The name of the cache containing the partial account data returned by the
+   * {@code user_data_by_account_ids} endpoint, by fullname.
+   */
+  public static final String USER_DATA = "user-data";
+  /**
+   * The specification used by all caches which haven't been configured
+   * explicitly. Entries are kept for at most an hour and refreshed in the
+   * background when accessed more than ten minutes after they were cached.
+   */
+  public static final String DEFAULT_SPEC =
+      "maximumSize=10000,expireAfterWrite=1h,refreshAfterWrite=10m,recordStats";
+
+  private static final String MAXIMUM_WEIGHT = "maximumWeight";
+
+  private final Map<String, CaffeineSpec> specs = new ConcurrentHashMap<>();
+  private final Map<String, EntityCache<?>> caches = new ConcurrentHashMap<>();
+  private final Client client;
+
+  /**
+   * Creates the entity caches of the given client.
+   *
+   * @param client The client used for requesting missing Things.
+   */
+  public EntityCaches(Client client) {
+    this.client = client;
+  }
+
+  /**
+   * Returns the cache containing the accounts, by user name.
+   *
+   * @return The {@link #ACCOUNTS} cache.
+   * @see Users#GET_USER_USERNAME_ABOUT
+   */
+  public EntityCache<AccountEntity> getAccounts() {
+    return getCache(ACCOUNTS, AccountEntity.class, name -> client.newRequest() //
+        .withEndpoint(Users.GET_USER_USERNAME_ABOUT, name) //
+        .withCredentials(Credentials.ANY));
+  }
+
+  /**
+   * Returns the cache containing the subreddits, by subreddit name.
+   *
+   * @return The {@link #SUBREDDITS} cache.
+   * @see Subreddits#GET_R_SUBREDDIT_ABOUT
+   */
+  public EntityCache<SubredditEntity> getSubreddits() {
+    return getCache(SUBREDDITS, SubredditEntity.class, name -> client.newRequest() //
+        .withEndpoint(Subreddits.GET_R_SUBREDDIT_ABOUT, name) //
+        .withCredentials(Credentials.ANY));
+  }
+
+  /**
+   * Sets the specification of the given cache. If the cache already exists, it
+   * is discarded together with all of its entries and recreated with the new
+   * specification upon next access.<br>
+   * Caches are bounded by their number of entries, i.e. via
+   * {@code maximumSize}. As no weigher is registered, {@code maximumWeight} is
+   * not supported.
+   *
+   * @param name The name of the cache.
+   * @param spec The Caffeine specification of the cache.
+   * @throws IllegalArgumentException If the specification is malformed or
+   *                                  bounds the cache by weight.
+   */
+  public void setSpec(String name, String spec) {
+    CaffeineSpec parsed = CaffeineSpec.parse(spec);
+
+    for (String option : spec.split(",")) {
+      if (option.split("=", 2)[0].trim().equals(MAXIMUM_WEIGHT)) {
+        throw new IllegalArgumentException(
+            String.format("Cache %s is bounded by entries, not by weight: %s", name, spec));
+      }
+    }
+
+    specs.put(name, parsed);
+    caches.remove(name);
+  }
+
+  /**
+   * Returns the cache with the given name. If it doesn't exist yet, it is
+   * created using either its configured or the default specification.
+   *
+   * @param name    The name of the cache.
+   * @param type    The class of the cached Things.
+   * @param request Creates the request for retrieving a single Thing by name.
+   * @param <V>     The type of the cached Things.
+   * @return The cache with the given name.
+   * @throws IllegalArgumentException If the cache holds Things of another type.
+   */
+  public <V> EntityCache<V> getCache(String name, Class<V> type,
+      Function<String, RequestBuilder> request) {
+    return getCache(name, type, request, body -> Things.transformThing(body.byteStream(), type));
+  }
+
+  /**
+   * Variant of {@link #getCache(String, Class, Function)}, for Things which
+   * aren't returned as the sole Thing of their response.
+   *
+   * @param name    The name of the cache.
+   * @param type    The class of the cached Things.
+   * @param request Creates the request for retrieving a single Thing by name.
+   * @param reader  Converts the response into the Thing.
+   * @param <V>     The type of the cached Things.
+   * @return The cache with the given name.
+   * @throws IllegalArgumentException If the cache holds Things of another type.
+   */
+  @SuppressWarnings("unchecked")
+  public <V> EntityCache<V> getCache(String name, Class<V> type,
+      Function<String, RequestBuilder> request, ResponseReader<V> reader) {
+    EntityCache<?> cache = caches.computeIfAbsent(name, key -> {
+      CaffeineSpec spec = specs.computeIfAbsent(key, k -> CaffeineSpec.parse(DEFAULT_SPEC));
+      return new EntityCache<>(Caffeine.from(spec), type, request, reader);
+    });
+
+    if (cache.getType() != type) {
+      throw new IllegalArgumentException(
+          String.format("Cache %s contains %s, not %s.", name, cache.getType(), type));
+    }
+
+    return (EntityCache<V>) cache;
+  }
+
+  /**
+   * Removes all entries from all caches.
+   */
+  public void invalidateAll() {
+    caches.clear();
+  }
+
+  /**
+   * Returns the statistics of all caches which have been created so far.
+   *
+   * @return An immutable map of all cache statistics, by cache name.
+   */
+  public Map<String, CacheStats> getStats() {
+    Map<String, CacheStats> result = new TreeMap<>();
+    caches.forEach((name, cache) -> result.put(name, cache.getStats()));
+    return Map.copyOf(result);
+  }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package zav.jrc.client.cache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import okhttp3.ResponseBody;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import zav.jrc.api.endpoint.LinksComments;
+import zav.jrc.api.endpoint.Listings;
+import zav.jrc.client.Client;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.client.http.RequestBuilder;
+import zav.jrc.client.http.RequestBuilder.Credentials;
+import zav.jrc.databind.SubredditEntity;
+import zav.jrc.databind.ThingEntity;
+import zav.jrc.databind.Things;
+import zav.jrc.databind.core.ListingEntity;
+
+/**
+ * Resolves Things by their fullname, e.g. {@code t3_15bfi0}. Instead of
+ * requesting each Thing individually, up to {@link #MAX_IDS} Things are
+ * requested at once. Links are requested via {@link Listings#GET_BY_ID_NAMES},
+ * all other Things via {@link LinksComments#GET_API_INFO}. Each Thing is
+ * deserialized into the class corresponding to its kind, e.g.
+ * {@code LinkEntity} for links.<br>
+ * Resolved Things are stored in the {@link EntityCaches#THINGS} cache of the
+ * client, so that only Things which haven't been cached are requested.
+ * Resolved subreddits are additionally stored in the
+ * {@link EntityCaches#SUBREDDITS} cache.
+ */
+@NonNullByDefault
+public final class ThingResolver {
+  /**
+   * The maximum number of fullnames per request.
+   */
+  public static final int MAX_IDS = 100;
+  /**
+   * The prefix of the fullnames of links.
+   */
+  private static final String LINK = "t3_";
+  private final Client client;
+
+  public ThingResolver(Client client) {
+    this.client = client;
+  }
+
+  /**
+   * Returns the Thing with the given fullname.
+   *
+   * @param fullname The fullname of the Thing.
+   * @param type     The class corresponding to the kind of the Thing.
+   * @param <T>      The type of the Thing.
+   * @return The (cached) Thing.
+   * @throws FailedRequestException If the API request was rejected or the Thing
+   *                                doesn't exist.
+   * @throws ClassCastException     If the Thing is not of the given type.
+   * @see Listings#GET_BY_ID_NAMES
+   * @see LinksComments#GET_API_INFO
+   */
+  public <T> T resolve(String fullname, Class<T> type) throws FailedRequestException {
+    return type.cast(getCache().get(fullname));
+  }
+
+  /**
+   * Returns all Things of the given type with the given fullnames.
+   *
+   * @param fullnames The fullnames of the Things.
+   * @param type      The class corresponding to the kind of the Things.
+   * @param <T>       The type of the Things.
+   * @return The Things, by fullname, in the order of the given fullnames.
+   * @throws FailedRequestException If one of the API requests was rejected.
+   * @see #resolve(Collection)
+   */
+  public <T> Map<String, T> resolve(Collection<String> fullnames, Class<T> type)
+      throws FailedRequestException {
+    Map<String, T> result = new LinkedHashMap<>();
+
+    resolve(fullnames).forEach((fullname, thing) -> {
+      if (type.isInstance(thing)) {
+        result.put(fullname, type.cast(thing));
+      }
+    });
+
+    return result;
+  }
+
+  /**
+   * Returns all Things with the given fullnames. Things which haven't been cached
+   * are requested in chunks of {@link #MAX_IDS} fullnames. All chunks are
+   * requested concurrently, within the limits of the client.<br>
+   * Things which don't exist or which can't be accessed are not contained by the
+   * returned map. If a request is rejected, the Things of all other chunks are
+   * still cached, before the exception is thrown.
+   *
+   * @param fullnames The fullnames of the Things.
+   * @return The Things, by fullname, in the order of the given fullnames.
+   * @throws FailedRequestException If one of the API requests was rejected.
+   * @see Listings#GET_BY_ID_NAMES
+   * @see LinksComments#GET_API_INFO
+   */
+  public Map<String, Object> resolve(Collection<String> fullnames)
+      throws FailedRequestException {
+    EntityCache<Object> cache = getCache();
+    Map<String, Object> resolved = new ConcurrentHashMap<>();
+    // Links and other Things are requested via different endpoints
+    List<String> links = new ArrayList<>();
+    List<String> others = new ArrayList<>();
+
+    for (String fullname : new LinkedHashSet<>(fullnames)) {
+      @Nullable
+      Object thing = cache.getIfPresent(fullname);
+
+      if (thing != null) {
+        resolved.put(fullname, thing);
+      } else if (fullname.startsWith(LINK)) {
+        links.add(fullname);
+      } else {
+        others.add(fullname);
+      }
+    }
+
+    List<CompletableFuture<@Nullable Throwable>> requests = new ArrayList<>();
+
+    // Things of successful chunks are cached, even if another chunk is rejected
+    for (List<String> missing : List.of(links, others)) {
+      for (int i = 0; i < missing.size(); i += MAX_IDS) {
+        List<String> chunk = missing.subList(i, Math.min(i + MAX_IDS, missing.size()));
+        requests.add(request(chunk).getAsync(ThingResolver::read).handle((things, e) -> {
+          if (e != null) {
+            return e;
+          }
+
+          things.forEach(thing -> store(thing, cache, resolved));
+          return null;
+        }));
+      }
+    }
+
+    @Nullable
+    Throwable failure = null;
+
+    // Wait for all chunks, before the first failure is rethrown
+    for (CompletableFuture<@Nullable Throwable> request : requests) {
+      @Nullable
+      Throwable current = request.join();
+
+      if (failure == null) {
+        failure = current;
+      }
+    }
+
+    if (failure != null) {
+      throw unwrap(failure);
+    }
+
+    Map<String, Object> result = new LinkedHashMap<>();
+
+    for (String fullname : fullnames) {
+      @Nullable
+      Object thing = resolved.get(fullname);
+
+      if (thing != null) {
+        result.put(fullname, thing);
+      }
+    }
+
+    return result;
+  }
+
+  private void store(ThingEntity thing, EntityCache<Object> cache, Map<String, Object> resolved) {
+    @Nullable
+    String fullname = getFullname(thing);
+
+    if (fullname != null) {
+      Object entity = decode(thing);
+      cache.put(fullname, entity);
+      resolved.put(fullname, entity);
+    }
+  }
+
+  private EntityCache<Object> getCache() {
+    return client.getCaches().getCache(EntityCaches.THINGS, Object.class,
+        fullname -> request(List.of(fullname)),
+        body -> {
+          List<ThingEntity> things = read(body);
+
+          if (things.isEmpty()) {
+            throw new IOException("The requested Thing doesn't exist.");
+          }
+
+          return decode(things.get(0));
+        });
+  }
+
+  /**
+   * Deserializes a Thing into the class corresponding to its kind. Subreddits
+   * are added to their respective cache.
+   *
+   * @param thing A Thing returned by the API.
+   * @return The deserialized Thing.
+   */
+  private Object decode(ThingEntity thing) {
+    Object result = Things.decode(thing);
+
+    if (result instanceof SubredditEntity) {
+      SubredditEntity subreddit = (SubredditEntity) result;
+      client.getCaches().getSubreddits().put(subreddit.getDisplayName(), subreddit);
+    }
+
+    return result;
+  }
+
+  /**
+   * Creates the request for the given fullnames. If all of them belong to links,
+   * they are requested via {@link Listings#GET_BY_ID_NAMES}.
+   *
+   * @param fullnames The fullnames of the requested Things.
+   * @return The request for said Things.
+   */
+  private RequestBuilder request(List<String> fullnames) {
+    String ids = String.join(",", fullnames);
+
+    if (fullnames.stream().allMatch(fullname -> fullname.startsWith(LINK))) {
+      return client.newRequest() //
+          .withEndpoint(Listings.GET_BY_ID_NAMES, ids) //
+          .withCredentials(Credentials.ANY);
+    }
+
+    return client.newRequest() //
+        .withEndpoint(LinksComments.GET_API_INFO) //
+        .withParam("id", ids) //
+        .withCredentials(Credentials.ANY);
+  }
+
+  private static List<ThingEntity> read(ResponseBody body) throws IOException {
+    ListingEntity listing = Things.transformThing(body.byteStream(), ListingEntity.class);
+    return Things.transformListing(listing, ThingEntity.class).collect(Collectors.toList());
+  }
+
+  private static FailedRequestException unwrap(Throwable failure) {
+    @Nullable
+    Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+
+    if (cause instanceof FailedRequestException) {
+      return (FailedRequestException) cause;
+    }
+
+    return FailedRequestException.wrap(new IOException(cause));
+  }
+
+  /**
+   * Returns the fullname of a Thing, which is composed of its kind and id.
+   *
+   * @param thing A Thing returned by the API.
+   * @return The fullname of the Thing or {@code null}, if it has no id.
+   */
+  @Nullable
+  private static String getFullname(ThingEntity thing) {
+    @Nullable
+    Object data = thing.getData();
+
+    if (thing.getKind() == null || !(data instanceof Map)) {
+      return null;
+    }
+
+    @Nullable
+    Object id = ((Map<?, ?>) data).get("id");
+    return id == null ? null : thing.getKind() + "_" + id;
+  }
+}
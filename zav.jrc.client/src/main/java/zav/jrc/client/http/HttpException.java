@@ -35,6 +35,15 @@ public class HttpException extends IOException {
     this.errorCode = errorCode;
   }
 
+  /**
+   * Returns the HTTP status code of the rejected request.
+   *
+   * @return The status code, e.g. {@code 429} if too many requests were sent.
+   */
+  public int getErrorCode() {
+    return errorCode;
+  }
+
   @Override
   public String toString() {
     return String.format("%d, %s", errorCode, getMessage());
@@ -18,12 +18,13 @@
 package zav.jrc.client.http;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 import okhttp3.FormBody;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
@@ -35,6 +36,11 @@ import org.eclipse.jdt.annotation.Nullable;
 import zav.jrc.api.endpoint.Endpoint;
 import zav.jrc.client.Client;
 import zav.jrc.client.FailedRequestException;
+import zav.jrc.client.Priority;
+import zav.jrc.databind.Mappers;
+import zav.jrc.databind.Page;
+import zav.jrc.databind.Things;
+import zav.jrc.databind.core.ListingEntity;
 
 /**
  * The base class for creating all REST request.<br>
@@ -92,6 +98,14 @@ public class RequestBuilder {
    * Additional headers such as access token appended to each request.
    */
   private Map<String, String> headers = new HashMap<>();
+  /**
+   * The priority class used when dispatching this request.
+   */
+  private Priority priority = Priority.NORMAL;
+  /**
+   * Whose credentials may be used for performing this request.
+   */
+  private Credentials credentials = Credentials.OWNER;
 
   private final Client client;
 
@@ -120,7 +134,8 @@ public class RequestBuilder {
   private Request.Builder builder() {
     String url = url();
 
-    Request.Builder builder = new Request.Builder().url(url);
+    Request.Builder builder = new Request.Builder().url(url).tag(Priority.class, priority) //
+        .tag(Endpoint.class, endpoint).tag(Credentials.class, credentials);
     headers.forEach(builder::addHeader);
 
     return builder;
@@ -132,6 +147,78 @@ public class RequestBuilder {
     return client.send(request);
   }
 
+  /**
+   * Variant of {@link #get()}, where the body of the response is converted by the
+   * given reader, instead of being returned as a string.
+   *
+   * @param reader The reader converting the response body.
+   * @param <T>    The type of the converted response.
+   * @return The converted response of the GET request.
+   * @throws FailedRequestException In case the request was rejected by the API.
+   */
+  public <T> T get(ResponseReader<T> reader) throws FailedRequestException {
+    Request request = builder().get().build();
+
+    return client.send(request, reader);
+  }
+
+  /**
+   * Performs a GET request and deserializes the response body directly into the
+   * given type. Unlike {@link #getThing(Class)}, the response doesn't have to be
+   * wrapped in a Thing, e.g. for endpoints returning an array of Things.
+   *
+   * @param target The class of the response.
+   * @param <T>    The type of the response.
+   * @return The response of the GET request.
+   * @throws FailedRequestException In case the request was rejected by the API.
+   * @see Things#transform(java.io.InputStream, Class)
+   */
+  public <T> T get(Class<T> target) throws FailedRequestException {
+    return get(body -> Things.transform(body.byteStream(), target));
+  }
+
+  /**
+   * Performs a GET request and deserializes the returned Thing directly from the
+   * response body.
+   *
+   * @param target The class of the Thing.
+   * @param <T>    The type of the Thing.
+   * @return The Thing returned by the GET request.
+   * @throws FailedRequestException In case the request was rejected by the API.
+   * @see Things#transformThing(java.io.InputStream, Class)
+   */
+  public <T> T getThing(Class<T> target) throws FailedRequestException {
+    return get(body -> Things.transformThing(body.byteStream(), target));
+  }
+
+  /**
+   * Performs a GET request and deserializes the Things contained by the returned
+   * {@link ListingEntity} directly from the response body.
+   *
+   * @param target The class of the Things.
+   * @param <T>    The type of the Things.
+   * @return The Things returned by the GET request.
+   * @throws FailedRequestException In case the request was rejected by the API.
+   * @see Things#transformListingOfThings(java.io.InputStream, Class)
+   */
+  public <T> Stream<T> getListingOfThings(Class<T> target) throws FailedRequestException {
+    return get(body -> Things.transformListingOfThings(body.byteStream(), target));
+  }
+
+  /**
+   * Performs a GET request and deserializes the returned {@link ListingEntity}
+   * directly from the response body, including its cursors.
+   *
+   * @param target The class of the Things.
+   * @param <T>    The type of the Things.
+   * @return The page returned by the GET request.
+   * @throws FailedRequestException In case the request was rejected by the API.
+   * @see Things#transformPage(java.io.InputStream, Class)
+   */
+  public <T> Page<T> getPage(Class<T> target) throws FailedRequestException {
+    return get(body -> Things.transformPage(body.byteStream(), target));
+  }
+
   public String delete() throws FailedRequestException {
     Request request = body == null ? builder().delete().build() : builder().delete(body).build();
 
@@ -177,6 +264,86 @@ public class RequestBuilder {
     return client.send(request);
   }
 
+  /**
+   * Asynchronous variant of {@link #get()}.
+   *
+   * @return A future containing the response of the GET request.
+   * @see Client#sendAsync(Request)
+   */
+  public CompletableFuture<String> getAsync() {
+    Request request = builder().get().build();
+
+    return client.sendAsync(request);
+  }
+
+  /**
+   * Asynchronous variant of {@link #get(ResponseReader)}.
+   *
+   * @param reader The reader converting the response body.
+   * @param <T>    The type of the converted response.
+   * @return A future containing the converted response of the GET request.
+   * @see Client#sendAsync(Request, ResponseReader)
+   */
+  public <T> CompletableFuture<T> getAsync(ResponseReader<T> reader) {
+    Request request = builder().get().build();
+
+    return client.sendAsync(request, reader);
+  }
+
+  /**
+   * Asynchronous variant of {@link #delete()}.
+   *
+   * @return A future containing the response of the DELETE request.
+   * @see Client#sendAsync(Request)
+   */
+  public CompletableFuture<String> deleteAsync() {
+    Request request = body == null ? builder().delete().build() : builder().delete(body).build();
+
+    return client.sendAsync(request);
+  }
+
+  /**
+   * Asynchronous variant of {@link #put()}.
+   *
+   * @return A future containing the response of the PUT request.
+   * @see Client#sendAsync(Request)
+   */
+  public CompletableFuture<String> putAsync() {
+    Objects.requireNonNull(body);
+
+    Request request = builder().put(body).build();
+
+    return client.sendAsync(request);
+  }
+
+  /**
+   * Asynchronous variant of {@link #post()}.
+   *
+   * @return A future containing the response of the POST request.
+   * @see Client#sendAsync(Request)
+   */
+  public CompletableFuture<String> postAsync() {
+    Objects.requireNonNull(body);
+
+    Request request = builder().post(body).build();
+
+    return client.sendAsync(request);
+  }
+
+  /**
+   * Asynchronous variant of {@link #patch()}.
+   *
+   * @return A future containing the response of the PATCH request.
+   * @see Client#sendAsync(Request)
+   */
+  public CompletableFuture<String> patchAsync() {
+    Objects.requireNonNull(body);
+
+    Request request = builder().patch(body).build();
+
+    return client.sendAsync(request);
+  }
+
   /**
    * Sets the request body, containing information about the requested resources.
    * Elements within the body are stored as key-value pairs.<br>
@@ -189,8 +356,7 @@ public class RequestBuilder {
     switch (type) {
       case JSON:
         try {
-          ObjectMapper om = new ObjectMapper();
-          String value = om.writeValueAsString(body);
+          String value = Mappers.writer(Map.class).writeValueAsString(body);
 
           @Nullable
           MediaType json = MediaType.parse("application/json; charset=utf-8");
@@ -257,6 +423,33 @@ public class RequestBuilder {
     return this;
   }
 
+  /**
+   * Sets the priority class of this request. In case more requests are made than
+   * the client is able to execute at once, requests with a higher priority are
+   * dispatched more frequently.
+   *
+   * @param priority The priority class of this request.
+   * @return The current builder instance.
+   */
+  public RequestBuilder withPriority(Priority priority) {
+    this.priority = priority;
+    return this;
+  }
+
+  /**
+   * Specifies whose credentials may be used for performing this request. By
+   * default, requests are performed using the credentials of the client owning
+   * the request. Only requests whose response doesn't depend on the
+   * authenticated account should be marked with {@link Credentials#ANY}.
+   *
+   * @param credentials Whose credentials may be used for this request.
+   * @return The current builder instance.
+   */
+  public RequestBuilder withCredentials(Credentials credentials) {
+    this.credentials = credentials;
+    return this;
+  }
+
   public <K, V> RequestBuilder withParam(K key, V value) {
     this.params.put(key, value);
     return this;
@@ -300,4 +493,23 @@ public class RequestBuilder {
   public enum BodyType {
     JSON, FORM
   }
+
+  /**
+   * Whose credentials may be used for performing a request. This is only
+   * relevant for clients which perform their requests on behalf of multiple
+   * accounts.
+   */
+  public enum Credentials {
+    /**
+     * The request is performed by the owner of the client. Used for all requests
+     * whose response depends on the authenticated account, e.g. the front page
+     * or the content of private subreddits.
+     */
+    OWNER,
+    /**
+     * The request may be performed by any account, as its response is the same
+     * for everyone.
+     */
+    ANY
+  }
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package zav.jrc.client.http;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.ws.rs.core.HttpHeaders;
+import okhttp3.Cache;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import zav.jrc.api.endpoint.Endpoint;
+
+/**
+ * An on-disk cache for the responses of GET requests. Cached responses are
+ * revalidated via their {@code ETag} and {@code Last-Modified} headers, meaning
+ * that unchanged resources aren't downloaded again.<br>
+ * Most responses are marked as not cacheable by Reddit. For those, a
+ * client-side time-to-live can be configured for individual endpoints, during
+ * which the cached response is returned without contacting the API.<br>
+ * Responses are cached per access token, hence the same cache may be used by
+ * multiple clients without leaking the responses of one account to another.
+ * Refreshing the access token invalidates all cached responses of the account.
+ * The cache directory must not be shared with another cache instance.
+ */
+@NonNullByDefault
+public final class ResponseCache implements Interceptor {
+  private final Map<Endpoint, Duration> ttls = new ConcurrentHashMap<>();
+  private final Cache cache;
+
+  /**
+   * Creates a new response cache.
+   *
+   * @param directory The directory in which the responses are stored.
+   * @param maxSize   The maximum size of the directory in bytes.
+   */
+  public ResponseCache(Path directory, long maxSize) {
+    this.cache = new Cache(directory.toFile(), maxSize);
+  }
+
+  /**
+   * Sets the time-to-live of all responses of the given endpoint. Within this
+   * period, the cached response is used, regardless of the caching directives
+   * returned by Reddit.
+   *
+   * @param endpoint The endpoint whose responses are cached.
+   * @param ttl      How long a response is considered to be up-to-date.
+   * @return This cache.
+   */
+  public ResponseCache setTtl(Endpoint endpoint, Duration ttl) {
+    ttls.put(endpoint, ttl);
+    return this;
+  }
+
+  /**
+   * Returns the number of requests which were served by the cache. This includes
+   * requests whose cached response was revalidated by the API.
+   *
+   * @return The number of cache hits.
+   */
+  public int getHitCount() {
+    return cache.hitCount();
+  }
+
+  /**
+   * Returns the number of requests which weren't served by the cache.
+   *
+   * @return The number of cache misses.
+   */
+  public int getMissCount() {
+    return cache.requestCount() - cache.hitCount();
+  }
+
+  /**
+   * Returns the number of requests which required a network call, including
+   * the revalidation of cached responses.
+   *
+   * @return The number of network calls.
+   */
+  public int getNetworkCount() {
+    return cache.networkCount();
+  }
+
+  /**
+   * Returns the total number of bytes occupied by the cached responses.
+   *
+   * @return The size of the cache in bytes.
+   * @throws IOException If the cache directory couldn't be read.
+   */
+  public long size() throws IOException {
+    return cache.size();
+  }
+
+  /**
+   * Removes all cached responses.
+   *
+   * @throws IOException If the cache directory couldn't be cleared.
+   */
+  public void evictAll() throws IOException {
+    cache.evictAll();
+  }
+
+  public Cache getCache() {
+    return cache;
+  }
+
+  /**
+   * Marks all responses as varying by the access token, so that cached responses
+   * are only served to the account which requested them. Responses for which a
+   * time-to-live has been configured additionally have their caching directives
+   * replaced. Not modified responses are rewritten as well, as their headers
+   * replace the headers of the cached response.
+   *
+   * @param chain The network chain of the HTTP client.
+   * @return The (rewritten) response.
+   * @throws IOException If the request couldn't be executed.
+   */
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    Response response = chain.proceed(request);
+
+    if (!"GET".equals(request.method())) {
+      return response;
+    }
+
+    Response.Builder builder = response.newBuilder() //
+        .header(HttpHeaders.VARY, vary(response.header(HttpHeaders.VARY)));
+
+    @Nullable
+    Endpoint endpoint = request.tag(Endpoint.class);
+    @Nullable
+    Duration ttl = endpoint == null ? null : ttls.get(endpoint);
+
+    if (ttl != null && (response.isSuccessful() || response.code() == 304)) {
+      builder.header(HttpHeaders.CACHE_CONTROL, "private, max-age=" + ttl.getSeconds()) //
+          .removeHeader("Pragma") //
+          .removeHeader(HttpHeaders.EXPIRES);
+    }
+
+    return builder.build();
+  }
+
+  /**
+   * Adds the {@link HttpHeaders#AUTHORIZATION} header to the headers by which
+   * the response varies.
+   *
+   * @param vary The {@link HttpHeaders#VARY} header returned by Reddit.
+   * @return The new {@link HttpHeaders#VARY} header.
+   */
+  private static String vary(@Nullable String vary) {
+    if (vary == null || vary.isBlank()) {
+      return HttpHeaders.AUTHORIZATION;
+    }
+
+    for (String header : vary.split(",")) {
+      String name = header.trim();
+      // Responses varying by all headers are never cached
+      if ("*".equals(name) || HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name)) {
+        return vary;
+      }
+    }
+
+    return vary + ", " + HttpHeaders.AUTHORIZATION;
+  }
+}
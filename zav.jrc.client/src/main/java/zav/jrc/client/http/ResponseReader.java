@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package zav.jrc.client.http;
+
+import java.io.IOException;
+import okhttp3.ResponseBody;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Converts the body of a successful response into the desired type. The body
+ * is only valid while this method is executed and closed afterwards. This
+ * allows e.g. JSON documents to be deserialized directly from the underlying
+ * stream, without reading the entire response into memory first.
+ *
+ * @param <T> The type of the converted response.
+ */
+@NonNullByDefault
+@FunctionalInterface
+public interface ResponseReader<T> {
+  /**
+   * Converts the body of a successful response.
+   *
+   * @param body The body of the response.
+   * @return The converted response.
+   * @throws IOException If the body couldn't be read.
+   */
+  T read(ResponseBody body) throws IOException;
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package zav.jrc.databind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks whether ids are ordered by their numeric value.
+ */
+public class IdentifiersTest {
+  @Test
+  public void testParse() {
+    assertEquals(Identifiers.parse("zz"), 1295);
+    assertEquals(Identifiers.parse("100"), 1296);
+    assertEquals(Identifiers.parse("t3_100"), 1296);
+    assertEquals(Identifiers.toId(1296), "100");
+    assertEquals(Identifiers.toFullname("t3", "100"), "t3_100");
+  }
+
+  @Test
+  public void testCompare() {
+    assertTrue(Identifiers.compare("zz", "100") < 0);
+    assertTrue(Identifiers.compare("100", "zz") > 0);
+    assertEquals(Identifiers.compare("t3_kvzaot", "kvzaot"), 0);
+  }
+
+  @Test
+  public void testComparing() {
+    List<String> ids = new ArrayList<>(List.of("100", "zz", "a"));
+    ids.sort(Identifiers.comparing(id -> id));
+    assertEquals(ids, List.of("a", "zz", "100"));
+  }
+}
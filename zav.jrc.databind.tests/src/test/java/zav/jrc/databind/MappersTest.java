@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package zav.jrc.databind;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks whether the shared readers and writers are properly cached and
+ * reconfigured.
+ */
+public class MappersTest {
+  /**
+   * Minimal type without support for additional properties.
+   */
+  public static class Sample {
+    public int value;
+  }
+
+  @AfterEach
+  public void tearDown() {
+    Mappers.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
+  }
+
+  @Test
+  public void testReaderIsCached() {
+    assertSame(Mappers.reader(LinkEntity.class), Mappers.reader(LinkEntity.class));
+    assertSame(Mappers.writer(LinkEntity.class), Mappers.writer(LinkEntity.class));
+  }
+
+  @Test
+  public void testConfigure() throws Exception {
+    ObjectReader reader = Mappers.reader(Sample.class);
+    String source = "{\"unknown\": 0}";
+
+    Mappers.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    assertNotSame(reader, Mappers.reader(Sample.class));
+    Mappers.reader(Sample.class).readValue(source);
+
+    Mappers.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
+    assertThrows(Exception.class, () -> Mappers.reader(Sample.class).readValue(source));
+  }
+}
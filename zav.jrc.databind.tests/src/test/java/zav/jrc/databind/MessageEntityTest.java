@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package zav.jrc.databind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks whether the attributes of a message entity have been properly
+ * deserialized.
+ */
+public class MessageEntityTest extends AbstractTest {
+  static ThingEntity thing;
+  static MessageEntity message;
+
+  @BeforeAll
+  public static void setUpAll() {
+    thing = read("Message.json", ThingEntity.class);
+    message = read(thing.getData(), MessageEntity.class);
+  }
+
+  @Test
+  public void testGetKind() {
+    assertEquals(thing.getKind(), "t4");
+  }
+
+  @Test
+  public void testTransformThing() {
+    MessageEntity result = Things.transformThing(thing, MessageEntity.class);
+    assertEquals(result.getName(), "t4_1xyzab");
+  }
+
+  @Test
+  public void testGetAuthor() {
+    assertEquals(message.getAuthor(), "Zavarov");
+  }
+
+  @Test
+  public void testGetBody() {
+    assertEquals(message.getBody(), "General Kenobi");
+  }
+
+  @Test
+  public void testGetContext() {
+    assertEquals(message.getContext(), "");
+  }
+
+  @Test
+  public void testGetDest() {
+    assertEquals(message.getDest(), "JavaRedditClient");
+  }
+
+  @Test
+  public void testGetFirstMessageName() {
+    assertNull(message.getFirstMessageName());
+  }
+
+  @Test
+  public void testGetIsNew() {
+    assertTrue(message.getIsNew());
+  }
+
+  @Test
+  public void testGetParentId() {
+    assertNull(message.getParentId());
+  }
+
+  @Test
+  public void testGetSubject() {
+    assertEquals(message.getSubject(), "Hello there");
+  }
+
+  @Test
+  public void testGetWasComment() {
+    assertFalse(message.getWasComment());
+  }
+
+  @Test
+  public void testGetCreatedUtc() {
+    assertEquals(message.getCreatedUtc(), 1667646373.0);
+  }
+
+  @Test
+  public void testGetId() {
+    assertEquals(message.getId(), "1xyzab");
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package zav.jrc.databind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks whether Things and listings of Things are properly decoded.
+ */
+public class ThingsTest extends AbstractTest {
+  static String links;
+  static String comments;
+
+  /**
+   * Extracts the serialized link and comment listings of the submission.
+   */
+  @BeforeAll
+  public static void setUpAll() {
+    JsonNode submission = read("Submission.json", JsonNode.class);
+    links = submission.get(0).toString();
+    comments = submission.get(1).toString();
+  }
+
+  @Test
+  public void testTransformListingOfLinks() {
+    List<LinkEntity> result = Things.transformListingOfThings(links, LinkEntity.class)
+        .collect(Collectors.toList());
+
+    assertEquals(result.size(), 1);
+    assertEquals(result.get(0).getId(), "kvzaot");
+    assertEquals(result.get(0).getTitle(), "OAuth2 API Changes Upcoming");
+  }
+
+  @Test
+  public void testTransformListingOfComments() throws IOException {
+    InputStream source = new ByteArrayInputStream(comments.getBytes(StandardCharsets.UTF_8));
+    List<CommentEntity> result = Things.transformListingOfThings(source, CommentEntity.class)
+        .collect(Collectors.toList());
+
+    assertEquals(result.size(), 10);
+    assertEquals(result.get(0).getId(), "gj2szb7");
+    assertEquals(result.get(0).getAuthor(), "not_an_aardvark");
+  }
+
+  @Test
+  public void testTransformPage() throws IOException {
+    InputStream source = new ByteArrayInputStream(comments.getBytes(StandardCharsets.UTF_8));
+    Page<CommentEntity> result = Things.transformPage(source, CommentEntity.class);
+
+    assertEquals(result.getChildren().size(), 10);
+    assertEquals(result.getChildren().get(0).getId(), "gj2szb7");
+    assertNull(result.getAfter());
+    assertNull(result.getBefore());
+  }
+
+  @Test
+  public void testTransformPageWithCursors() throws IOException {
+    String listing = "{\"kind\": \"Listing\", \"data\": {\"after\": \"t3_b\", "
+        + "\"before\": \"t3_a\", \"children\": [{\"kind\": \"t3\", \"data\": "
+        + "{\"id\": \"a\"}}, {\"kind\": \"t3\", \"data\": {\"id\": \"b\"}}]}}";
+    InputStream source = new ByteArrayInputStream(listing.getBytes(StandardCharsets.UTF_8));
+    Page<LinkEntity> result = Things.transformPage(source, LinkEntity.class);
+
+    assertEquals(result.getChildren().size(), 2);
+    assertEquals(result.getChildren().get(1).getId(), "b");
+    assertEquals(result.getAfter(), "t3_b");
+    assertEquals(result.getBefore(), "t3_a");
+  }
+
+  @Test
+  public void testDecode() {
+    List<ThingEntity> result = Things.transformListing(comments, ThingEntity.class)
+        .collect(Collectors.toList());
+    CommentEntity comment = (CommentEntity) Things.decode(result.get(0));
+
+    assertEquals(comment.getId(), "gj2szb7");
+  }
+
+  @Test
+  public void testDecodeOfUnknownKind() {
+    ThingEntity thing = new ThingEntity();
+    thing.setKind("more");
+
+    assertThrows(IllegalArgumentException.class, () -> Things.decode(thing));
+  }
+
+  @Test
+  public void testTransformThingWithDataBeforeKind() {
+    String source = "{\"data\": {\"id\": \"kvzaot\"}, \"kind\": \"t3\"}";
+
+    assertEquals(Things.transformThing(source, LinkEntity.class).getId(), "kvzaot");
+  }
+
+  @Test
+  public void testTransformThingOfWrongKind() {
+    assertThrows(IllegalArgumentException.class,
+        () -> Things.transformListingOfThings(comments, LinkEntity.class));
+    assertThrows(IllegalArgumentException.class,
+        () -> Things.transformThing(links, SubredditEntity.class));
+  }
+
+  @Test
+  public void testTransformListing() {
+    List<ThingEntity> result = Things.transformListing(comments, ThingEntity.class)
+        .collect(Collectors.toList());
+
+    assertEquals(result.size(), 10);
+    assertEquals(Things.transformThing(result.get(0), CommentEntity.class).getId(), "gj2szb7");
+  }
+}
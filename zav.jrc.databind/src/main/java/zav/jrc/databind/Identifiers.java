@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package zav.jrc.databind;
+
+import java.util.Comparator;
+import java.util.function.Function;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Utility class for working with the ids of Things.<br>
+ * Ids are base-36 encoded numbers, which are assigned in ascending order. A
+ * Thing is therefore newer than another Thing of the same kind, if and only if
+ * its numeric id is larger. Comparing the ids as strings is not sufficient, as
+ * e.g. {@code zz} would be considered to be larger than {@code 100}.
+ */
+@NonNullByDefault
+public final class Identifiers {
+  private static final int RADIX = 36;
+  private static final char SEPARATOR = '_';
+
+  private Identifiers() {
+    // Utility class
+  }
+
+  /**
+   * Returns the numeric value of an id. Fullnames, i.e. ids which are prefixed
+   * with the kind of the Thing (e.g. {@code t3_kvzaot}), are also accepted.
+   *
+   * @param id The id or fullname of a Thing.
+   * @return The numeric value of the id.
+   * @throws NumberFormatException If the id is not a valid base-36 number.
+   */
+  public static long parse(String id) {
+    return Long.parseLong(id.substring(id.indexOf(SEPARATOR) + 1), RADIX);
+  }
+
+  /**
+   * Returns the id of a Thing with the given numeric value.
+   *
+   * @param value The numeric value of the id.
+   * @return The base-36 encoded id.
+   */
+  public static String toId(long value) {
+    return Long.toString(value, RADIX);
+  }
+
+  /**
+   * Returns the fullname of a Thing, i.e. its id prefixed with its kind.
+   *
+   * @param kind The kind of the Thing, e.g. {@code t3}.
+   * @param id   The id of the Thing.
+   * @return The fullname of the Thing.
+   */
+  public static String toFullname(String kind, String id) {
+    return kind + SEPARATOR + id;
+  }
+
+  /**
+   * Compares the numeric values of two ids.
+   *
+   * @param left  The first id.
+   * @param right The second id.
+   * @return A negative number, zero, or a positive number, if the first id is
+   *         smaller, equal to, or larger than the second id.
+   */
+  public static int compare(String left, String right) {
+    return Long.compare(parse(left), parse(right));
+  }
+
+  /**
+   * Creates a comparator, which orders Things by the numeric values of their
+   * ids, i.e. from oldest to newest.
+   *
+   * @param id  The function extracting the id of a Thing.
+   * @param <T> The type of the Things.
+   * @return A comparator over the ids of the Things.
+   */
+  public static <T> Comparator<T> comparing(Function<? super T, String> id) {
+    return Comparator.comparingLong(source -> parse(id.apply(source)));
+  }
+}
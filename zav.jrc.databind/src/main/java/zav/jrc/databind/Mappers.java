@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package zav.jrc.databind;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Central registry of the mapper used for (de-)serializing the API responses.
+ * <br>
+ * Creating a new {@link ObjectMapper} is expensive, as all entity classes have
+ * to be introspected again and the serializer and deserializer caches are lost.
+ * Instead, a single, shared mapper is used, together with one
+ * {@link ObjectReader} and {@link ObjectWriter} per type. Readers resolve their
+ * root deserializer upon creation and are therefore already warmed up when they
+ * are used for the first time.<br>
+ * The mapper may be tuned via {@link #configure(DeserializationFeature, boolean)},
+ * {@link #configure(SerializationFeature, boolean)} and
+ * {@link #registerModule(Module)}, e.g. for registering a module generating
+ * optimized accessors. Changes are applied to a copy of the current mapper, so
+ * that readers and writers which are currently in use are not affected.
+ */
+@NonNullByDefault
+public final class Mappers {
+  private static volatile Registry registry = new Registry(new ObjectMapper());
+
+  private Mappers() {
+    // Utility class
+  }
+
+  /**
+   * Returns the shared mapper. The mapper must not be reconfigured directly, as
+   * it may be used concurrently. Use the methods of this class instead.
+   *
+   * @return The shared mapper.
+   */
+  public static ObjectMapper getMapper() {
+    return registry.mapper;
+  }
+
+  /**
+   * Returns the reader used for deserializing instances of the given type.
+   *
+   * @param type The deserialized type.
+   * @return The cached reader for the given type.
+   */
+  public static ObjectReader reader(Class<?> type) {
+    return registry.reader(type);
+  }
+
+  /**
+   * Returns the writer used for serializing instances of the given type.
+   *
+   * @param type The serialized type.
+   * @return The cached writer for the given type.
+   */
+  public static ObjectWriter writer(Class<?> type) {
+    return registry.writer(type);
+  }
+
+  /**
+   * Enables or disables the given deserialization feature.
+   *
+   * @param feature The deserialization feature.
+   * @param state   {@code true}, if the feature should be enabled.
+   */
+  public static void configure(DeserializationFeature feature, boolean state) {
+    update(mapper -> mapper.configure(feature, state));
+  }
+
+  /**
+   * Enables or disables the given serialization feature.
+   *
+   * @param feature The serialization feature.
+   * @param state   {@code true}, if the feature should be enabled.
+   */
+  public static void configure(SerializationFeature feature, boolean state) {
+    update(mapper -> mapper.configure(feature, state));
+  }
+
+  /**
+   * Registers a module, extending the functionality of the shared mapper.
+   *
+   * @param module The module to be registered.
+   */
+  public static void registerModule(Module module) {
+    update(mapper -> mapper.registerModule(module));
+  }
+
+  /**
+   * Replaces the shared mapper with a modified copy. All cached readers and
+   * writers are discarded.
+   *
+   * @param modifier The modification applied to the copy.
+   */
+  private static synchronized void update(UnaryOperator<ObjectMapper> modifier) {
+    registry = new Registry(modifier.apply(registry.mapper.copy()));
+  }
+
+  /**
+   * Snapshot of a mapper, together with the readers and writers created by it.
+   */
+  private static final class Registry {
+    private final ObjectMapper mapper;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    private Registry(ObjectMapper mapper) {
+      this.mapper = mapper;
+    }
+
+    private ObjectReader reader(Class<?> type) {
+      return readers.computeIfAbsent(type, mapper::readerFor);
+    }
+
+    private ObjectWriter writer(Class<?> type) {
+      return writers.computeIfAbsent(type, mapper::writerFor);
+    }
+  }
+}
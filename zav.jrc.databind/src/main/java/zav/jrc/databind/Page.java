@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package zav.jrc.databind;
+
+import java.util.List;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import zav.jrc.databind.core.ListingEntity;
+
+/**
+ * A single page of a {@link ListingEntity}, whose Things have already been
+ * deserialized into the desired class.
+ *
+ * @param <T> The type of the Things on this page.
+ */
+@NonNullByDefault
+public final class Page<T> {
+  private final List<T> children;
+  @Nullable
+  private final String after;
+  @Nullable
+  private final String before;
+
+  /**
+   * Creates a new page.
+   *
+   * @param children The Things on this page.
+   * @param after    The fullname of the Thing after which the next page starts.
+   * @param before   The fullname of the Thing before which the previous page ends.
+   */
+  public Page(List<T> children, @Nullable String after, @Nullable String before) {
+    this.children = List.copyOf(children);
+    this.after = after;
+    this.before = before;
+  }
+
+  public List<T> getChildren() {
+    return children;
+  }
+
+  @Nullable
+  public String getAfter() {
+    return after;
+  }
+
+  @Nullable
+  public String getBefore() {
+    return before;
+  }
+}
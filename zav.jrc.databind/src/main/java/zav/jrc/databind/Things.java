@@ -17,8 +17,13 @@
 
 package zav.jrc.databind;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -27,10 +32,15 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import zav.jrc.databind.core.ListingEntity;
 
 /**
- * Utility class for deserializing the API responses.
+ * Utility class for deserializing the API responses.<br>
+ * Serialized Things are decoded in a single pass. The {@code kind} of each Thing
+ * is validated as soon as it is encountered and its {@code data} is then
+ * deserialized directly into the desired class, without an intermediate
+ * {@link ThingEntity} or {@link ListingEntity}.
  */
 @SuppressWarnings("unused")
 @NonNullByDefault
@@ -41,7 +51,7 @@ public class Things {
     KINDS.put("t1", CommentEntity.class);
     KINDS.put("t2", AccountEntity.class);
     KINDS.put("t3", LinkEntity.class);
-    // KINDS.put("t4", Message.class);
+    KINDS.put("t4", MessageEntity.class);
     KINDS.put("t5", SubredditEntity.class);
     KINDS.put("t6", AwardEntity.class);
     KINDS.put("Listing", ListingEntity.class);
@@ -59,7 +69,69 @@ public class Things {
    * @return A list of {@code T} contained by the {@link ListingEntity}.
    */
   public static <T> Stream<T> transformListingOfThings(String source, Class<T> target) {
-    return transformListingOfThings(transformThing(source, ListingEntity.class), target);
+    try (JsonParser parser = Mappers.getMapper().createParser(source)) {
+      return readListingOfThings(parser, target).stream();
+    } catch (IOException e) {
+      // The input string ought to always be well-behaved
+      throw new IllegalArgumentException(e);
+    }
+  }
+
+  /**
+   * Deserialized all objects contained by the {@link ListingEntity}.<br>
+   * The listing is contained within a {@link ThingEntity}, which is read directly
+   * from the provided stream.
+   *
+   * @param source A stream over a serialized {@link ListingEntity} of Things.
+   * @param target Desired class.
+   * @param <T>    Expected type.
+   * @return A list of {@code T} contained by the {@link ListingEntity}.
+   * @throws IOException If the stream couldn't be read.
+   */
+  public static <T> Stream<T> transformListingOfThings(InputStream source, Class<T> target)
+      throws IOException {
+    try (JsonParser parser = Mappers.getMapper().createParser(source)) {
+      return readListingOfThings(parser, target).stream();
+    }
+  }
+
+  /**
+   * Deserializes a single page of a {@link ListingEntity}. Unlike
+   * {@link #transformListingOfThings(InputStream, Class)}, the cursors of the
+   * listing are retained.
+   *
+   * @param source A serialized {@link ListingEntity} of Things.
+   * @param target Desired class.
+   * @param <T>    Expected type.
+   * @return The page containing the {@code T} of the {@link ListingEntity}.
+   * @throws IOException If the listing couldn't be deserialized.
+   */
+  public static <T> Page<T> transformPage(InputStream source, Class<T> target)
+      throws IOException {
+    try (JsonParser parser = Mappers.getMapper().createParser(source)) {
+      return readPage(parser, target);
+    }
+  }
+
+  /**
+   * Deserializes the data of a Thing into the class corresponding to its kind,
+   * e.g. {@link LinkEntity} for {@code t3}.
+   *
+   * @param source A Thing.
+   * @return The deserialized data of the Thing.
+   * @throws IllegalArgumentException If the kind of the Thing is unknown.
+   */
+  public static Object decode(ThingEntity source) {
+    @Nullable
+    String kind = source.getKind();
+    @Nullable
+    Class<?> target = kind == null ? null : KINDS.get(kind);
+
+    if (target == null) {
+      throw new IllegalArgumentException("The provided Thing is of unknown kind " + kind + ".");
+    }
+
+    return transform(source.getData(), target);
   }
 
   /**
@@ -123,7 +195,29 @@ public class Things {
    * @return Instance of {@code T}.
    */
   public static <T> T transformThing(String source, Class<T> target) {
-    return transformThing(transform(source, ThingEntity.class), target);
+    try (JsonParser parser = Mappers.getMapper().createParser(source)) {
+      return readThing(parser, target);
+    } catch (IOException e) {
+      // The input string ought to always be well-behaved
+      throw new IllegalArgumentException(e);
+    }
+  }
+
+  /**
+   * Deserializes the object contained by the {@link ThingEntity}, which is read
+   * directly from the provided stream.<br>
+   * {@link ThingEntity#getKind()} has to match the desired class.
+   *
+   * @param source A stream over a serialized {@link ThingEntity}.
+   * @param target Desired class.
+   * @param <T>    Expected type.
+   * @return Instance of {@code T}.
+   * @throws IOException If the stream couldn't be read.
+   */
+  public static <T> T transformThing(InputStream source, Class<T> target) throws IOException {
+    try (JsonParser parser = Mappers.getMapper().createParser(source)) {
+      return readThing(parser, target);
+    }
   }
 
   /**
@@ -136,12 +230,8 @@ public class Things {
    * @return Instance of {@code T}.
    */
   public static <T> T transformThing(ThingEntity source, Class<T> target) {
-    // Validation
-    Class<?> expectedClass = KINDS.get(source.getKind());
-    if (!Objects.equals(expectedClass, target)) {
-      throw new IllegalArgumentException("The provided Thing is not of type " + target + ".");
-    }
-    // Data is internally a map => Convert back to JSON
+    validate(source.getKind(), target);
+    // Data is internally a map => Convert directly into the target
     return transform(source.getData(), target);
   }
 
@@ -154,13 +244,7 @@ public class Things {
    * @return Instance of {@code T}.
    */
   public static <T> T transform(Object source, Class<T> target) {
-    try {
-      ObjectMapper om = new ObjectMapper();
-      return transform(om.writeValueAsString(source), target);
-    } catch (IOException e) {
-      // Serialization ought to always work
-      throw new IllegalArgumentException(e);
-    }
+    return Mappers.getMapper().convertValue(source, target);
   }
 
   /**
@@ -173,11 +257,198 @@ public class Things {
    */
   public static <T> T transform(String source, Class<T> target) {
     try {
-      ObjectMapper om = new ObjectMapper();
-      return om.readValue(source, target);
+      return Mappers.reader(target).readValue(source);
     } catch (IOException e) {
       // The input string ought to always be well-behaved
       throw new IllegalArgumentException(e);
     }
   }
+
+  /**
+   * Deserializes the JSON document read from the provided stream. The document is
+   * parsed incrementally, without materializing it as a string first.
+   *
+   * @param source A stream over a JSON document.
+   * @param target Desired class.
+   * @param <T>    Expected type.
+   * @return Instance of {@code T}.
+   * @throws IOException If the stream couldn't be read.
+   */
+  public static <T> T transform(InputStream source, Class<T> target) throws IOException {
+    return Mappers.reader(target).readValue(source);
+  }
+
+  /**
+   * Reads the content of a single field of a Thing.
+   *
+   * @param <T> The type of the field.
+   */
+  @FunctionalInterface
+  private interface FieldReader<T> {
+    /**
+     * Reads the field value the parser is currently pointing at.
+     *
+     * @param parser The parser over the serialized Thing.
+     * @return The deserialized field value.
+     * @throws IOException If the field couldn't be deserialized.
+     */
+    @Nullable
+    T read(JsonParser parser) throws IOException;
+  }
+
+  /**
+   * Checks whether the kind of a Thing corresponds to the desired class.
+   *
+   * @param kind   The kind of the Thing.
+   * @param target Desired class.
+   * @throws IllegalArgumentException If the kind doesn't match the class.
+   */
+  private static void validate(@Nullable String kind, Class<?> target) {
+    Class<?> expectedClass = kind == null ? null : KINDS.get(kind);
+    if (!Objects.equals(expectedClass, target)) {
+      throw new IllegalArgumentException("The provided Thing is not of type " + target + ".");
+    }
+  }
+
+  /**
+   * Reads the Things contained by a serialized {@link ListingEntity}. Each child
+   * is deserialized directly into the desired class.
+   *
+   * @param parser The parser over the serialized listing.
+   * @param target Desired class.
+   * @param <T>    Expected type.
+   * @return A list of {@code T} contained by the {@link ListingEntity}.
+   * @throws IOException If the listing couldn't be deserialized.
+   */
+  private static <T> List<T> readListingOfThings(JsonParser parser, Class<T> target)
+      throws IOException {
+    return readPage(parser, target).getChildren();
+  }
+
+  /**
+   * Reads a serialized {@link ListingEntity}, including its cursors. Each child
+   * is deserialized directly into the desired class.
+   *
+   * @param parser The parser over the serialized listing.
+   * @param target Desired class.
+   * @param <T>    Expected type.
+   * @return The page containing the {@code T} of the {@link ListingEntity}.
+   * @throws IOException If the listing couldn't be deserialized.
+   */
+  private static <T> Page<T> readPage(JsonParser parser, Class<T> target) throws IOException {
+    ObjectReader reader = Mappers.reader(target);
+
+    parser.nextToken();
+    return readThing(parser, ListingEntity.class, data -> {
+      List<T> children = new ArrayList<>();
+      @Nullable String after = null;
+      @Nullable String before = null;
+      expect(data, JsonToken.START_OBJECT);
+
+      while (data.nextToken() == JsonToken.FIELD_NAME) {
+        String name = data.getCurrentName();
+        data.nextToken();
+
+        if ("children".equals(name)) {
+          expect(data, JsonToken.START_ARRAY);
+
+          while (data.nextToken() != JsonToken.END_ARRAY) {
+            children.add(readThing(data, target, child -> reader.readValue(child)));
+          }
+        } else if ("after".equals(name)) {
+          after = data.getValueAsString();
+        } else if ("before".equals(name)) {
+          before = data.getValueAsString();
+        } else {
+          data.skipChildren();
+        }
+      }
+
+      return new Page<>(children, after, before);
+    });
+  }
+
+
+  /**
+   * Reads a serialized Thing and deserializes its data into the desired class.
+   *
+   * @param parser The parser over the serialized Thing.
+   * @param target Desired class.
+   * @param <T>    Expected type.
+   * @return Instance of {@code T}.
+   * @throws IOException If the Thing couldn't be deserialized.
+   */
+  private static <T> T readThing(JsonParser parser, Class<T> target) throws IOException {
+    ObjectReader reader = Mappers.reader(target);
+
+    parser.nextToken();
+    return readThing(parser, target, data -> reader.readValue(data));
+  }
+
+  /**
+   * Reads the Thing the parser is currently pointing at. Usually, the
+   * {@code kind} precedes the {@code data}, in which case the data is read
+   * immediately. Otherwise, the data is buffered until the kind is known.
+   *
+   * @param parser The parser over the serialized Thing.
+   * @param target The class associated with the kind of the Thing.
+   * @param reader The reader used for deserializing the data.
+   * @param <T>    The type of the deserialized data.
+   * @return The deserialized data of the Thing.
+   * @throws IOException If the Thing couldn't be deserialized.
+   */
+  private static <T> T readThing(JsonParser parser, Class<?> target, FieldReader<T> reader)
+      throws IOException {
+    expect(parser, JsonToken.START_OBJECT);
+
+    @Nullable String kind = null;
+    @Nullable TokenBuffer buffer = null;
+    @Nullable T result = null;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.getCurrentName();
+      parser.nextToken();
+
+      if ("kind".equals(name)) {
+        kind = parser.getValueAsString();
+        validate(kind, target);
+      } else if ("data".equals(name) && kind != null) {
+        result = reader.read(parser);
+      } else if ("data".equals(name)) {
+        buffer = new TokenBuffer(parser);
+        buffer.copyCurrentStructure(parser);
+      } else {
+        parser.skipChildren();
+      }
+    }
+
+    validate(kind, target);
+
+    if (buffer != null) {
+      try (JsonParser data = buffer.asParser(parser.getCodec())) {
+        data.nextToken();
+        result = reader.read(data);
+      }
+    }
+
+    if (result == null) {
+      throw JsonMappingException.from(parser, "The provided Thing has no data.");
+    }
+
+    return result;
+  }
+
+  /**
+   * Checks whether the parser is pointing at the expected token.
+   *
+   * @param parser The parser over the serialized Thing.
+   * @param token  The expected token.
+   * @throws IOException If the parser points at a different token.
+   */
+  private static void expect(JsonParser parser, JsonToken token) throws IOException {
+    if (parser.currentToken() != token) {
+      throw JsonMappingException.from(parser, "Expected " + token + " but was "
+          + parser.currentToken() + ".");
+    }
+  }
 }
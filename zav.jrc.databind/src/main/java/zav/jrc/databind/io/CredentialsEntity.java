@@ -17,12 +17,12 @@
 
 package zav.jrc.databind.io;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import zav.jrc.databind.Mappers;
 
 /**
  * This class contains the credentials required to authenticate the application.
@@ -36,6 +36,6 @@ public class CredentialsEntity extends CredentialsTOPEntity {
   }
 
   public static CredentialsEntity read(File file) throws IOException {
-    return new ObjectMapper().readValue(file, CredentialsEntity.class);
+    return Mappers.reader(CredentialsEntity.class).readValue(file);
   }
 }
@@ -18,13 +18,13 @@
 package zav.jrc.databind.io;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import zav.jrc.databind.Mappers;
 
 /**
  * This class implements the token of the current session and optionally, the
@@ -61,6 +61,6 @@ public class TokenEntity extends TokenTOPEntity {
   }
 
   public static TokenEntity read(String source) throws IOException {
-    return new ObjectMapper().readValue(source, TokenEntity.class);
+    return Mappers.reader(TokenEntity.class).readValue(source);
   }
 }
@@ -17,10 +17,10 @@
 
 package zav.jrc.databind.io;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.File;
 import java.io.IOException;
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import zav.jrc.databind.Mappers;
 
 /**
  * This class implements the user agent, attach to every API request in order to
@@ -44,6 +44,6 @@ public class UserAgentEntity extends UserAgentTOPEntity {
   }
 
   public static UserAgentEntity read(File file) throws IOException {
-    return new ObjectMapper().readValue(file, UserAgentEntity.class);
+    return Mappers.reader(UserAgentEntity.class).readValue(file);
   }
 }
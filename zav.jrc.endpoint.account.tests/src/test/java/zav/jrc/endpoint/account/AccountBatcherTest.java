@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package zav.jrc.endpoint.account;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import zav.jrc.client.Client;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.client.cache.EntityCaches;
+import zav.jrc.client.http.RequestBuilder;
+import zav.jrc.client.http.ResponseReader;
+import zav.jrc.databind.AccountEntity;
+
+/**
+ * Checks whether account lookups are buffered and requested together, either
+ * once the window has passed or once enough accounts have been buffered.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AccountBatcherTest {
+  static final Duration WINDOW = Duration.ofMillis(100);
+  @Mock
+  Client client;
+  @Mock(answer = Answers.RETURNS_SELF)
+  RequestBuilder builder;
+  @Mock
+  ScheduledExecutorService scheduler;
+  @Mock
+  ScheduledFuture<?> timer;
+  AccountBatcher batcher;
+  /**
+   * The ids of all requested accounts, per request.
+   */
+  List<String> requests;
+
+  @BeforeEach
+  public void setUp() {
+    when(client.getCaches()).thenReturn(new EntityCaches(client));
+    doReturn(timer).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+    batcher = new AccountBatcher(client, scheduler, WINDOW);
+    requests = new ArrayList<>();
+  }
+
+  @Test
+  public void testGetAboutWithinWindow() throws Exception {
+    respond();
+
+    CompletableFuture<AccountEntity> first = batcher.getAbout("t2_a");
+    CompletableFuture<AccountEntity> second = batcher.getAbout("t2_b");
+
+    // Nothing is requested before the window has passed
+    assertTrue(requests.isEmpty());
+    assertFalse(first.isDone());
+
+    getTimer().run();
+
+    assertEquals(requests, List.of("t2_a,t2_b"));
+    assertEquals(first.get().getName(), "a");
+    assertEquals(second.get().getName(), "b");
+
+    // Resolved accounts are cached
+    assertEquals(batcher.getAbout("t2_a").get().getName(), "a");
+    assertEquals(requests.size(), 1);
+  }
+
+  @Test
+  public void testGetAboutSameAccount() throws Exception {
+    respond();
+
+    CompletableFuture<AccountEntity> first = batcher.getAbout("t2_a");
+    CompletableFuture<AccountEntity> second = batcher.getAbout("t2_a");
+
+    assertSame(first, second);
+
+    getTimer().run();
+
+    assertEquals(requests, List.of("t2_a"));
+    assertEquals(first.get().getName(), "a");
+  }
+
+  @Test
+  public void testGetAboutFullBatch() throws Exception {
+    respond();
+
+    List<String> fullnames = IntStream.range(0, AccountBatcher.MAX_IDS) //
+        .mapToObj(i -> "t2_" + Integer.toString(i, 36)) //
+        .collect(Collectors.toList());
+
+    List<CompletableFuture<AccountEntity>> futures = new ArrayList<>();
+    fullnames.forEach(fullname -> futures.add(batcher.getAbout(fullname)));
+
+    // The batch is requested immediately, without waiting for the window
+    verify(timer).cancel(false);
+    ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler).execute(flush.capture());
+    flush.getValue().run();
+
+    assertEquals(requests, List.of(String.join(",", fullnames)));
+    assertEquals(futures.get(0).get().getName(), "0");
+    assertTrue(futures.stream().allMatch(CompletableFuture::isDone));
+  }
+
+  @Test
+  public void testGetAboutMissingAccount() throws Exception {
+    respond("t2_a");
+
+    CompletableFuture<AccountEntity> first = batcher.getAbout("t2_a");
+    CompletableFuture<AccountEntity> second = batcher.getAbout("t2_b");
+
+    getTimer().run();
+
+    assertEquals(first.get().getName(), "a");
+    ExecutionException e = assertThrows(ExecutionException.class, second::get);
+    assertTrue(e.getCause() instanceof FailedRequestException);
+  }
+
+  @Test
+  public void testGetAboutWithFailedRequest() {
+    FailedRequestException cause = FailedRequestException.wrap(new IOException("Test"));
+    when(client.newRequest()).thenReturn(builder);
+    when(builder.getAsync(any(ResponseReader.class)))
+        .thenReturn(CompletableFuture.failedFuture(cause));
+
+    CompletableFuture<AccountEntity> result = batcher.getAbout("t2_a");
+    getTimer().run();
+
+    ExecutionException e = assertThrows(ExecutionException.class, result::get);
+    assertEquals(e.getCause(), cause);
+  }
+
+  /**
+   * Returns the task which is executed once the window has passed.
+   *
+   * @return The scheduled flush of the buffered lookups.
+   */
+  private Runnable getTimer() {
+    ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler).schedule(task.capture(), eq(WINDOW.toNanos()), eq(TimeUnit.NANOSECONDS));
+    return task.getValue();
+  }
+
+  /**
+   * Responds with all requested accounts, except for those which aren't contained by
+   * the given fullnames. The name of each account is its id.
+   *
+   * @param existing The fullnames of the existing accounts. All accounts exist,
+   *                 if empty.
+   */
+  @SuppressWarnings("unchecked")
+  private void respond(String... existing) {
+    when(client.newRequest()).thenReturn(builder);
+    doAnswer(invocation -> {
+      requests.add(invocation.getArgument(1));
+      return builder;
+    }).when(builder).withParam(eq("ids"), any());
+    doAnswer(invocation -> {
+      ResponseReader<Object> reader = invocation.getArgument(0);
+      List<String> ids = List.of(requests.get(requests.size() - 1).split(","));
+      String json = ids.stream() //
+          .filter(id -> existing.length == 0 || List.of(existing).contains(id)) //
+          .map(id -> "\"" + id + "\":{\"name\":\"" + id.substring(3) + "\"}") //
+          .collect(Collectors.joining(",", "{", "}"));
+      return CompletableFuture.completedFuture(
+          reader.read(ResponseBody.create(json, MediaType.get("application/json"))));
+    }).when(builder).getAsync(any(ResponseReader.class));
+  }
+}
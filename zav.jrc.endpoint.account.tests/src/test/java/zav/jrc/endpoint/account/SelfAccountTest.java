@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package zav.jrc.endpoint.account;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import zav.jrc.api.endpoint.PrivateMessages;
+import zav.jrc.client.Client;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.client.http.RequestBuilder;
+
+/**
+ * Checks whether messages are marked as read with as few requests as possible.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SelfAccountTest {
+  @Mock
+  Client client;
+  @Mock(answer = Answers.RETURNS_SELF)
+  RequestBuilder builder;
+  SelfAccount selfAccount;
+
+  @BeforeEach
+  public void setUp() {
+    when(client.getOwner()).thenReturn(client);
+    selfAccount = new SelfAccount(client);
+  }
+
+  @Test
+  public void testReadMessages() throws FailedRequestException {
+    when(client.newRequest()).thenReturn(builder);
+
+    selfAccount.readMessages(List.of("t4_1", "t1_2"));
+
+    verify(builder).withEndpoint(PrivateMessages.POST_API_READ_MESSAGE);
+    verify(builder).withBody(Map.of("id", "t4_1,t1_2"));
+    verify(builder).post();
+  }
+
+  @Test
+  public void testReadMessagesInChunks() throws FailedRequestException {
+    when(client.newRequest()).thenReturn(builder);
+
+    List<String> fullnames = IntStream.range(0, SelfAccount.MAX_MESSAGES + 1) //
+        .mapToObj(i -> "t4_" + Integer.toString(i, 36)) //
+        .collect(Collectors.toList());
+
+    selfAccount.readMessages(fullnames);
+
+    verify(builder).withBody(
+        Map.of("id", String.join(",", fullnames.subList(0, SelfAccount.MAX_MESSAGES))));
+    verify(builder).withBody(Map.of("id", fullnames.get(SelfAccount.MAX_MESSAGES)));
+    verify(builder, times(2)).post();
+  }
+
+  @Test
+  public void testReadNoMessages() throws FailedRequestException {
+    selfAccount.readMessages(List.of());
+
+    verify(client, never()).newRequest();
+    verify(builder, never()).post();
+  }
+}
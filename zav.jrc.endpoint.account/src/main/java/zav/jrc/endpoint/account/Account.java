@@ -17,17 +17,12 @@
 
 package zav.jrc.endpoint.account;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Stream;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import zav.jrc.api.endpoint.Users;
 import zav.jrc.client.Client;
 import zav.jrc.client.FailedRequestException;
@@ -46,17 +41,6 @@ import zav.jrc.databind.UserEntity;
  */
 @NonNullByDefault
 public class Account {
-  /**
-   * In order to save the number of API calls, the account data is stored in an
-   * internal cache, s.t. the cached value is reused, during consecutive calls
-   * within a short time frame.<br>
-   * Items are cached for a single day.
-   */
-  private static final Cache<String, AccountEntity> accountCache = Caffeine.newBuilder()
-      .expireAfterWrite(Duration.ofDays(1)).build();
-
-  private static final Logger LOGGER = LoggerFactory.getLogger(Account.class);
-
   private final Client client;
   private final String name;
 
@@ -205,30 +189,16 @@ public class Account {
   }
 
   /**
-   * Returns the Entity object of this account.
+   * Returns the Entity object of this account. The Entity is cached by the client,
+   * in order to reduce the number of API calls. Outdated Entities are refreshed
+   * in the background.
    *
    * @return The Entity object corresponding to this account.
    * @throws FailedRequestException If the API requests was rejected.
    * @see Users#GET_USER_USERNAME_ABOUT
    */
   public AccountEntity getAbout() throws FailedRequestException {
-    @Nullable
-    AccountEntity result = accountCache.getIfPresent(name);
-
-    // Only perform a new request if the account hasn't been cached.
-    if (result == null) {
-      String response = client.newRequest() //
-          .withEndpoint(Users.GET_USER_USERNAME_ABOUT, name) //
-          .get();
-
-      result = Things.transformThing(response, AccountEntity.class);
-
-      accountCache.put(name, result);
-
-      LOGGER.debug("Cached new account with name {}.", name);
-    }
-
-    return result;
+    return client.getCaches().getAccounts().get(name);
   }
 
   /**
@@ -241,11 +211,9 @@ public class Account {
    */
   public Stream<CommentEntity> getComments(Map<String, Object> params)
       throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Users.GET_USER_USERNAME_COMMENTS, name) //
-        .get();
-
-    return Things.transformListingOfThings(response, CommentEntity.class);
+        .getListingOfThings(CommentEntity.class);
   }
 
   /**
@@ -343,12 +311,10 @@ public class Account {
    * @see Users#GET_USER_USERNAME_SUBMITTED
    */
   public Stream<LinkEntity> getSubmitted(Map<String, Object> params) throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Users.GET_USER_USERNAME_SUBMITTED, name) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, LinkEntity.class);
+        .getListingOfThings(LinkEntity.class);
   }
 
   /**
@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package zav.jrc.endpoint.account;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zav.jrc.api.endpoint.Users;
+import zav.jrc.client.Client;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.client.cache.EntityCache;
+import zav.jrc.client.cache.EntityCaches;
+import zav.jrc.client.http.RequestBuilder;
+import zav.jrc.databind.AccountEntity;
+import zav.jrc.databind.Things;
+
+/**
+ * Resolves accounts by their fullname, e.g. {@code t2_1qwk}. Lookups are
+ * buffered for a short period and then resolved by a single request, which
+ * contains up to {@link #MAX_IDS} accounts. Concurrent lookups of the same
+ * account share the same result.<br>
+ * Reddit only returns the name, creation date, karma and profile image of each
+ * account, meaning that all other properties of such entities are
+ * {@code null}. Resolved accounts are therefore not added to the account cache
+ * used by {@link Account#getAbout()}, but to the separate
+ * {@link EntityCaches#USER_DATA} cache of the client.
+ */
+@NonNullByDefault
+public class AccountBatcher {
+  /**
+   * The maximum number of accounts per request.
+   */
+  public static final int MAX_IDS = 100;
+  private static final Logger LOGGER = LoggerFactory.getLogger(AccountBatcher.class);
+
+  private final Client client;
+  private final ScheduledExecutorService scheduler;
+  private final Duration window;
+  /**
+   * Guards the lookups which haven't been requested yet.
+   */
+  private final Lock lock = new ReentrantLock();
+  private Map<String, CompletableFuture<AccountEntity>> pending = new LinkedHashMap<>();
+  /**
+   * Requests the buffered lookups once the window has passed.
+   */
+  @Nullable
+  private ScheduledFuture<?> timer;
+
+  /**
+   * Creates a new batcher.
+   *
+   * @param client    The client used for making the requests.
+   * @param scheduler The executor on which the buffered lookups are requested.
+   * @param window    How long lookups are buffered, before they are requested.
+   */
+  public AccountBatcher(Client client, ScheduledExecutorService scheduler, Duration window) {
+    this.client = client;
+    this.scheduler = scheduler;
+    this.window = window;
+  }
+
+  /**
+   * Returns the account with the given fullname. The account is requested
+   * together with all other accounts looked up within the same window or as
+   * soon as {@link #MAX_IDS} accounts are buffered.
+   *
+   * @param fullname The fullname of the account.
+   * @return A future containing the account. In case the account doesn't exist
+   *         or the request was rejected, the future completes exceptionally
+   *         with a {@link FailedRequestException}.
+   * @see Users#GET_API_USER_DATA_BY_ACCOUNT_IDS
+   */
+  public CompletableFuture<AccountEntity> getAbout(String fullname) {
+    @Nullable
+    AccountEntity cached = getCache().getIfPresent(fullname);
+
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+
+    CompletableFuture<AccountEntity> result;
+    boolean full;
+
+    lock.lock();
+    try {
+      @Nullable
+      CompletableFuture<AccountEntity> shared = pending.get(fullname);
+
+      if (shared != null) {
+        return shared;
+      }
+
+      result = new CompletableFuture<>();
+      pending.put(fullname, result);
+      full = pending.size() >= MAX_IDS;
+
+      if (full) {
+        cancelTimer();
+      } else if (pending.size() == 1) {
+        timer = scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    if (full) {
+      scheduler.execute(this::flush);
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns all accounts with the given fullnames. Accounts which haven't been
+   * cached are requested immediately, in chunks of {@link #MAX_IDS}
+   * accounts.<br>
+   * Accounts which don't exist are not contained by the returned map.
+   *
+   * @param fullnames The fullnames of the accounts.
+   * @return The accounts, by fullname.
+   * @throws FailedRequestException If one of the API requests was rejected.
+   * @see Users#GET_API_USER_DATA_BY_ACCOUNT_IDS
+   */
+  public Map<String, AccountEntity> getAbout(Collection<String> fullnames)
+      throws FailedRequestException {
+    EntityCache<AccountEntity> cache = getCache();
+    List<String> ids = new ArrayList<>();
+    Map<String, AccountEntity> result = new LinkedHashMap<>();
+
+    for (String fullname : fullnames) {
+      @Nullable
+      AccountEntity cached = cache.getIfPresent(fullname);
+
+      if (cached == null) {
+        ids.add(fullname);
+      } else {
+        result.put(fullname, cached);
+      }
+    }
+
+    for (int i = 0; i < ids.size(); i += MAX_IDS) {
+      String chunk = String.join(",", ids.subList(i, Math.min(i + MAX_IDS, ids.size())));
+
+      transform(request(chunk).get()).forEach((fullname, account) -> {
+        cache.put(fullname, account);
+        result.put(fullname, account);
+      });
+    }
+
+    return result;
+  }
+
+  /**
+   * Requests all buffered lookups and completes their futures once the
+   * responses have been received. The requests are performed asynchronously,
+   * so that the scheduler isn't blocked.
+   */
+  private void flush() {
+    Map<String, CompletableFuture<AccountEntity>> batch;
+
+    lock.lock();
+    try {
+      cancelTimer();
+
+      if (pending.isEmpty()) {
+        return;
+      }
+
+      batch = pending;
+      pending = new LinkedHashMap<>();
+    } finally {
+      lock.unlock();
+    }
+
+    LOGGER.debug("Requesting {} buffered accounts.", batch.size());
+
+    List<String> ids = new ArrayList<>(batch.keySet());
+
+    for (int i = 0; i < ids.size(); i += MAX_IDS) {
+      List<String> chunk = ids.subList(i, Math.min(i + MAX_IDS, ids.size()));
+
+      request(String.join(",", chunk)) //
+          .getAsync(body -> transform(body.string())) //
+          .whenComplete((accounts, e) -> complete(chunk, batch, accounts, e));
+    }
+  }
+
+  /**
+   * Completes the futures of a single chunk of buffered lookups.
+   *
+   * @param chunk    The fullnames of the requested accounts.
+   * @param batch    The futures of all buffered lookups, by fullname.
+   * @param accounts The accounts returned by the API, by fullname.
+   * @param failure  The reason why the request failed, if applicable.
+   */
+  private void complete(List<String> chunk, Map<String, CompletableFuture<AccountEntity>> batch,
+      @Nullable Map<String, AccountEntity> accounts, @Nullable Throwable failure) {
+    EntityCache<AccountEntity> cache = getCache();
+
+    for (String fullname : chunk) {
+      CompletableFuture<AccountEntity> future = batch.get(fullname);
+      @Nullable
+      AccountEntity account = accounts == null ? null : accounts.get(fullname);
+
+      if (failure != null) {
+        future.completeExceptionally(unwrap(failure));
+      } else if (account != null) {
+        cache.put(fullname, account);
+        future.complete(account);
+      } else {
+        future.completeExceptionally(FailedRequestException
+            .wrap(new NoSuchElementException("Account " + fullname + " doesn't exist.")));
+      }
+    }
+  }
+
+  private void cancelTimer() {
+    @Nullable
+    ScheduledFuture<?> current = timer;
+
+    if (current != null) {
+      current.cancel(false);
+      timer = null;
+    }
+  }
+
+  private static Throwable unwrap(Throwable failure) {
+    @Nullable
+    Throwable cause = failure.getCause();
+    return failure instanceof CompletionException && cause != null ? cause : failure;
+  }
+
+  private RequestBuilder request(String ids) {
+    return client.newRequest() //
+        .withEndpoint(Users.GET_API_USER_DATA_BY_ACCOUNT_IDS) //
+        .withParam("ids", ids);
+  }
+
+  /**
+   * Returns the cache containing the partial accounts, by fullname.
+   *
+   * @return The user data cache of the client.
+   */
+  private EntityCache<AccountEntity> getCache() {
+    return client.getCaches().getCache(EntityCaches.USER_DATA, AccountEntity.class,
+        this::request, body -> {
+          Map<String, AccountEntity> accounts = transform(body.string());
+
+          if (accounts.isEmpty()) {
+            throw new IOException("The requested account doesn't exist.");
+          }
+
+          return accounts.values().iterator().next();
+        });
+  }
+
+  /**
+   * Converts the accounts returned by the API. The fullname of each account is
+   * used as its id.
+   *
+   * @param response The serialized accounts, by fullname.
+   * @return The deserialized accounts, by fullname.
+   */
+  private static Map<String, AccountEntity> transform(String response) {
+    Map<?, ?> source = Things.transform(response, Map.class);
+    Map<String, AccountEntity> result = new LinkedHashMap<>();
+
+    source.forEach((key, value) -> {
+      String fullname = String.valueOf(key);
+      AccountEntity account = Things.transform(value, AccountEntity.class);
+      account.setId(fullname.startsWith("t2_") ? fullname.substring(3) : fullname);
+      result.put(fullname, account);
+    });
+
+    return result;
+  }
+}
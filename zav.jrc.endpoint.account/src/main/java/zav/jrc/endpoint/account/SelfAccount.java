@@ -17,34 +17,52 @@
 
 package zav.jrc.endpoint.account;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import zav.jrc.api.endpoint.Account;
+import zav.jrc.api.endpoint.PrivateMessages;
 import zav.jrc.api.endpoint.Subreddits;
 import zav.jrc.client.Client;
 import zav.jrc.client.FailedRequestException;
 import zav.jrc.databind.AwardEntity;
 import zav.jrc.databind.KarmaEntity;
 import zav.jrc.databind.KarmaListEntity;
+import zav.jrc.databind.MessageEntity;
 import zav.jrc.databind.PreferencesEntity;
 import zav.jrc.databind.SelfAccountEntity;
 import zav.jrc.databind.SubredditEntity;
+import zav.jrc.databind.ThingEntity;
 import zav.jrc.databind.Things;
 import zav.jrc.databind.TrophyListEntity;
 import zav.jrc.databind.UserEntity;
 import zav.jrc.databind.UserListEntity;
+import zav.jrc.databind.core.ListingEntity;
 
 /**
  * Representation of the account through which the client is logged in.
  */
 @NonNullByDefault
 public class SelfAccount {
+  /**
+   * The maximum number of messages which are marked as read per request.
+   */
+  public static final int MAX_MESSAGES = 100;
 
   private final Client client;
 
+  /**
+   * Creates a new representation of the account through which the client is
+   * logged in. All requests are made by the {@link Client#getOwner() owner} of
+   * the given client.
+   *
+   * @param client The client used for making the requests.
+   */
   public SelfAccount(Client client) {
-    this.client = client;
+    this.client = client.getOwner();
   }
 
   // Account
@@ -193,12 +211,10 @@ public class SelfAccount {
    */
   public Stream<SubredditEntity> getMineContributor(Map<String, Object> params)
       throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Subreddits.GET_SUBREDDITS_MINE_CONTRIBUTOR) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, SubredditEntity.class);
+        .getListingOfThings(SubredditEntity.class);
   }
 
   /**
@@ -210,12 +226,10 @@ public class SelfAccount {
    */
   public Stream<SubredditEntity> getMineModerator(Map<String, Object> params)
       throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Subreddits.GET_SUBREDDITS_MINE_MODERATOR) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, SubredditEntity.class);
+        .getListingOfThings(SubredditEntity.class);
   }
 
   /**
@@ -228,12 +242,10 @@ public class SelfAccount {
    */
   public Stream<SubredditEntity> getMineStreams(Map<String, Object> params)
       throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Subreddits.GET_SUBREDDITS_MINE_STREAMS) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, SubredditEntity.class);
+        .getListingOfThings(SubredditEntity.class);
   }
 
   /**
@@ -245,11 +257,78 @@ public class SelfAccount {
    */
   public Stream<SubredditEntity> getMineSubscriber(Map<String, Object> params)
       throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Subreddits.GET_SUBREDDITS_MINE_SUBSCRIBER) //
         .withParams(params) //
-        .get();
+        .getListingOfThings(SubredditEntity.class);
+  }
+
+  // ----------------------------------------------------------------------------------------------//
+  // //
+  // Private Messages //
+  // //
+  // ----------------------------------------------------------------------------------------------//
+
+  /**
+   * Returns a stream over all messages in the inbox of this account. Comment
+   * replies and username mentions are returned as messages as well.
+   *
+   * @return A stream over the Entitys corresponding to the messages.
+   * @throws FailedRequestException If the API requests was rejected.
+   * @see PrivateMessages#GET_MESSAGE_INBOX
+   */
+  public Stream<MessageEntity> getInbox(Map<String, Object> params)
+      throws FailedRequestException {
+    ListingEntity listing = client.newRequest() //
+        .withEndpoint(PrivateMessages.GET_MESSAGE_INBOX) //
+        .withParams(params) //
+        .getThing(ListingEntity.class);
+
+    return transformMessages(listing);
+  }
+
+  /**
+   * Returns a stream over all unread messages in the inbox of this account.
+   * Comment replies and username mentions are returned as messages as well.
+   *
+   * @return A stream over the Entitys corresponding to the messages.
+   * @throws FailedRequestException If the API requests was rejected.
+   * @see PrivateMessages#GET_MESSAGE_UNREAD
+   */
+  public Stream<MessageEntity> getUnread(Map<String, Object> params)
+      throws FailedRequestException {
+    ListingEntity listing = client.newRequest() //
+        .withEndpoint(PrivateMessages.GET_MESSAGE_UNREAD) //
+        .withParams(params) //
+        .getThing(ListingEntity.class);
+
+    return transformMessages(listing);
+  }
+
+  /**
+   * Marks the given messages as read, using a single request per
+   * {@value #MAX_MESSAGES} messages.
+   *
+   * @param fullnames The fullnames of the messages, e.g. {@code t4_1abcde}.
+   * @throws FailedRequestException If the API requests was rejected.
+   * @see PrivateMessages#POST_API_READ_MESSAGE
+   */
+  public void readMessages(Collection<String> fullnames) throws FailedRequestException {
+    List<String> ids = new ArrayList<>(fullnames);
+
+    for (int i = 0; i < ids.size(); i += MAX_MESSAGES) {
+      List<String> batch = ids.subList(i, Math.min(ids.size(), i + MAX_MESSAGES));
+
+      client.newRequest() //
+          .withEndpoint(PrivateMessages.POST_API_READ_MESSAGE) //
+          .withBody(Map.of("id", String.join(",", batch))) //
+          .post();
+    }
+  }
 
-    return Things.transformListingOfThings(response, SubredditEntity.class);
+  private static Stream<MessageEntity> transformMessages(ListingEntity listing) {
+    // The inbox contains both messages (t4) and comments (t1) with the same fields
+    return Things.transformListing(listing, ThingEntity.class)
+        .map(thing -> Things.transform(thing.getData(), MessageEntity.class));
   }
 }
@@ -59,12 +59,10 @@ public class FrontPage {
    * @see Listings#GET_BEST
    */
   public Stream<LinkEntity> getBest(Map<String, Object> params) throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Listings.GET_BEST) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, LinkEntity.class);
+        .getListingOfThings(LinkEntity.class);
   }
 
   /**
@@ -76,12 +74,10 @@ public class FrontPage {
    */
   public Stream<LinkEntity> getControversial(Map<String, Object> params)
       throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Listings.GET_CONTROVERSIAL) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, LinkEntity.class);
+        .getListingOfThings(LinkEntity.class);
   }
 
   /**
@@ -92,12 +88,10 @@ public class FrontPage {
    * @see Listings#GET_HOT
    */
   public Stream<LinkEntity> getHot(Map<String, Object> params) throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Listings.GET_HOT) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, LinkEntity.class);
+        .getListingOfThings(LinkEntity.class);
   }
 
   /**
@@ -108,12 +102,10 @@ public class FrontPage {
    * @see Listings#GET_NEW
    */
   public Stream<LinkEntity> getNew(Map<String, Object> params) throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Listings.GET_NEW) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, LinkEntity.class);
+        .getListingOfThings(LinkEntity.class);
   }
 
   /**
@@ -141,12 +133,10 @@ public class FrontPage {
    * @see Listings#GET_RISING
    */
   public Stream<LinkEntity> getRising(Map<String, Object> params) throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Listings.GET_RISING) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, LinkEntity.class);
+        .getListingOfThings(LinkEntity.class);
   }
 
   /**
@@ -157,12 +147,10 @@ public class FrontPage {
    * @see Listings#GET_TOP
    */
   public Stream<LinkEntity> getTop(Map<String, Object> params) throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Listings.GET_TOP) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, LinkEntity.class);
+        .getListingOfThings(LinkEntity.class);
   }
 
   // -------//
@@ -201,12 +189,10 @@ public class FrontPage {
    */
   public Stream<SubredditEntity> findSubreddits(Map<String, Object> params)
       throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Subreddits.GET_SUBREDDITS_SEARCH) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, SubredditEntity.class);
+        .getListingOfThings(SubredditEntity.class);
   }
 
   /**
@@ -219,12 +205,10 @@ public class FrontPage {
    * @see Subreddits#GET_USERS_SEARCH
    */
   public Stream<AccountEntity> findUsers(Map<String, Object> params) throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Subreddits.GET_USERS_SEARCH) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, AccountEntity.class);
+        .getListingOfThings(AccountEntity.class);
   }
 
   /**
@@ -299,12 +283,10 @@ public class FrontPage {
    */
   public Stream<SubredditEntity> getDefaultSubreddits(Map<String, Object> params)
       throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Subreddits.GET_SUBREDDITS_DEFAULT) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, SubredditEntity.class);
+        .getListingOfThings(SubredditEntity.class);
   }
 
   /**
@@ -318,12 +300,10 @@ public class FrontPage {
    */
   public Stream<SubredditEntity> getGoldSubreddits(Map<String, Object> params)
       throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Subreddits.GET_SUBREDDITS_GOLD) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, SubredditEntity.class);
+        .getListingOfThings(SubredditEntity.class);
   }
 
   /**
@@ -336,12 +316,10 @@ public class FrontPage {
    */
   public Stream<SubredditEntity> getNewSubreddits(Map<String, Object> params)
       throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Subreddits.GET_SUBREDDITS_NEW) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, SubredditEntity.class);
+        .getListingOfThings(SubredditEntity.class);
   }
 
   /**
@@ -354,12 +332,10 @@ public class FrontPage {
    */
   public Stream<SubredditEntity> getPopularSubreddits(Map<String, Object> params)
       throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Subreddits.GET_SUBREDDITS_POPULAR) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, SubredditEntity.class);
+        .getListingOfThings(SubredditEntity.class);
   }
 
   /**
@@ -372,11 +348,9 @@ public class FrontPage {
    */
   public Stream<SubredditEntity> getNewUserSubreddits(Map<String, Object> params)
       throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Subreddits.GET_USERS_NEW).withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, SubredditEntity.class);
+        .getListingOfThings(SubredditEntity.class);
   }
 
   /**
@@ -389,10 +363,8 @@ public class FrontPage {
    */
   public Stream<SubredditEntity> getPopularUserSubreddits(Map<String, Object> params)
       throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Subreddits.GET_USERS_POPULAR) //
-        .withParams(params).get();
-
-    return Things.transformListingOfThings(response, SubredditEntity.class);
+        .withParams(params).getListingOfThings(SubredditEntity.class);
   }
 }
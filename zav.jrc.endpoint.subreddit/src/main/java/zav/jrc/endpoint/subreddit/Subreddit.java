@@ -17,25 +17,21 @@
 
 package zav.jrc.endpoint.subreddit;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import java.awt.image.RenderedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
 import java.util.stream.Stream;
 import javax.imageio.ImageIO;
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jdt.annotation.Nullable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import zav.jrc.api.endpoint.Listings;
 import zav.jrc.api.endpoint.Search;
 import zav.jrc.api.endpoint.Subreddits;
 import zav.jrc.client.Client;
 import zav.jrc.client.FailedRequestException;
+import zav.jrc.client.Priority;
+import zav.jrc.client.http.RequestBuilder.Credentials;
 import zav.jrc.databind.LinkEntity;
 import zav.jrc.databind.RulesEntity;
 import zav.jrc.databind.SubredditEntity;
@@ -52,11 +48,6 @@ import zav.jrc.databind.core.ListingEntity;
  */
 @NonNullByDefault
 public class Subreddit {
-  private static final Cache<String, SubredditEntity> subredditCache = Caffeine.newBuilder()
-      .expireAfterWrite(Duration.ofDays(1)).build();
-
-  private static final Logger LOGGER = LoggerFactory.getLogger(Subreddit.class);
-
   private final Client client;
   private final String name;
 
@@ -83,12 +74,11 @@ public class Subreddit {
    */
   public Stream<LinkEntity> getControversial(Map<String, Object> params)
       throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Listings.GET_R_SUBREDDIT_CONTROVERSIAL, name) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, LinkEntity.class);
+        .withCredentials(Credentials.ANY) //
+        .getListingOfThings(LinkEntity.class);
   }
 
   /**
@@ -99,12 +89,11 @@ public class Subreddit {
    * @see Listings#GET_R_SUBREDDIT_HOT
    */
   public Stream<LinkEntity> getHot(Map<String, Object> params) throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Listings.GET_R_SUBREDDIT_HOT, name) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, LinkEntity.class);
+        .withCredentials(Credentials.ANY) //
+        .getListingOfThings(LinkEntity.class);
   }
 
   /**
@@ -115,12 +104,11 @@ public class Subreddit {
    * @see Listings#GET_R_SUBREDDIT_NEW
    */
   public Stream<LinkEntity> getNew(Map<String, Object> params) throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Listings.GET_R_SUBREDDIT_NEW, name) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, LinkEntity.class);
+        .withCredentials(Credentials.ANY) //
+        .getListingOfThings(LinkEntity.class);
   }
 
   /**
@@ -148,12 +136,11 @@ public class Subreddit {
    * @see Listings#GET_R_SUBREDDIT_RISING
    */
   public Stream<LinkEntity> getRising(Map<String, Object> params) throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Listings.GET_R_SUBREDDIT_RISING, name) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, LinkEntity.class);
+        .withCredentials(Credentials.ANY) //
+        .getListingOfThings(LinkEntity.class);
   }
 
   /**
@@ -164,12 +151,11 @@ public class Subreddit {
    * @see Listings#GET_R_SUBREDDIT_TOP
    */
   public Stream<LinkEntity> getTop(Map<String, Object> params) throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Listings.GET_R_SUBREDDIT_TOP, name) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, LinkEntity.class);
+        .withCredentials(Credentials.ANY) //
+        .getListingOfThings(LinkEntity.class);
   }
 
   // -------//
@@ -298,6 +284,7 @@ public class Subreddit {
   public Stream<UserEntity> getBanned() throws FailedRequestException {
     String response = client.newRequest() //
         .withEndpoint(Subreddits.GET_R_SUBREDDIT_ABOUT_BANNED, name) //
+        .withPriority(Priority.LOW) //
         .get();
 
     ThingEntity thing = Things.transform(response, ThingEntity.class);
@@ -315,6 +302,7 @@ public class Subreddit {
   public Stream<UserEntity> getContributors() throws FailedRequestException {
     String response = client.newRequest() //
         .withEndpoint(Subreddits.GET_R_SUBREDDIT_ABOUT_CONTRIBUTORS, name) //
+        .withPriority(Priority.LOW) //
         .get();
 
     ThingEntity thing = Things.transform(response, ThingEntity.class);
@@ -332,6 +320,7 @@ public class Subreddit {
   public Stream<UserEntity> getModerators() throws FailedRequestException {
     String response = client.newRequest() //
         .withEndpoint(Subreddits.GET_R_SUBREDDIT_ABOUT_MODERATORS, name) //
+        .withPriority(Priority.LOW) //
         .get();
 
     return Things.transform(response, UserListEntity.class).getData().getChildren().stream();
@@ -348,6 +337,7 @@ public class Subreddit {
   public Stream<UserEntity> getMuted() throws FailedRequestException {
     String response = client.newRequest() //
         .withEndpoint(Subreddits.GET_R_SUBREDDIT_ABOUT_MUTED, name) //
+        .withPriority(Priority.LOW) //
         .get();
 
     ThingEntity thing = Things.transform(response, ThingEntity.class);
@@ -366,6 +356,7 @@ public class Subreddit {
   public Stream<UserEntity> getWikiBanned() throws FailedRequestException {
     String response = client.newRequest() //
         .withEndpoint(Subreddits.GET_R_SUBREDDIT_ABOUT_WIKIBANNED, name) //
+        .withPriority(Priority.LOW) //
         .get();
 
     ThingEntity thing = Things.transform(response, ThingEntity.class);
@@ -383,6 +374,7 @@ public class Subreddit {
   public Stream<UserEntity> getWikiContributors() throws FailedRequestException {
     String response = client.newRequest() //
         .withEndpoint(Subreddits.GET_R_SUBREDDIT_ABOUT_WIKICONTRIBUTORS, name) //
+        .withPriority(Priority.LOW) //
         .get();
 
     ThingEntity thing = Things.transform(response, ThingEntity.class);
@@ -563,30 +555,16 @@ public class Subreddit {
   }
 
   /**
-   * Returns the Entity object of this subreddit.
+   * Returns the Entity object of this subreddit. The Entity is cached by the client,
+   * in order to reduce the number of API calls. Outdated Entities are refreshed
+   * in the background.
    *
    * @return The Entity object corresponding to this subreddit.
    * @throws FailedRequestException If the API requests was rejected.
    * @see Subreddits#GET_R_SUBREDDIT_ABOUT
    */
   public SubredditEntity getAbout() throws FailedRequestException {
-    @Nullable
-    SubredditEntity result = subredditCache.getIfPresent(name);
-
-    // Only perform a new request if the account hasn't been cached.
-    if (result == null) {
-      String response = client.newRequest() //
-          .withEndpoint(Subreddits.GET_R_SUBREDDIT_ABOUT, name) //
-          .get();
-
-      result = Things.transformThing(response, SubredditEntity.class);
-
-      subredditCache.put(name, result);
-
-      LOGGER.debug("Cached new subreddit with name {}.", name);
-    }
-
-    return result;
+    return client.getCaches().getSubreddits().get(name);
   }
 
   /**
@@ -597,11 +575,9 @@ public class Subreddit {
    * @see Subreddits#GET_R_SUBREDDIT_ABOUT_EDIT
    */
   public SubredditSettingsEntity getSettings() throws FailedRequestException {
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Subreddits.GET_R_SUBREDDIT_ABOUT_EDIT, name) //
-        .get();
-
-    return Things.transformThing(response, SubredditSettingsEntity.class);
+        .getThing(SubredditSettingsEntity.class);
   }
 
   /**
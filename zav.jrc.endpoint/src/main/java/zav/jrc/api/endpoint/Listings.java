@@ -71,6 +71,24 @@ public final class Listings {
    */
   public static final Endpoint GET_R_SUBREDDIT_COMMENTS_ARTICLE = new Endpoint("r", "{subreddit}",
       "comments", "{article}");
+  /**
+   * Returns the most recent comments over all subreddits, sorted by
+   * {@code new}.<br>
+   * Each comment additionally contains the author, title and URL of its link.
+   *
+   * @see #GET_R_SUBREDDIT_COMMENTS
+   */
+  public static final Endpoint GET_COMMENTS = new Endpoint("comments");
+  /**
+   * Returns the most recent comments in the given subreddit, sorted by
+   * {@code new}.<br>
+   * Each comment additionally contains the author, title and URL of its link.
+   * Multiple subreddits may be combined with {@code +}.
+   *
+   * @see #GET_COMMENTS
+   */
+  public static final Endpoint GET_R_SUBREDDIT_COMMENTS = new Endpoint("r", "{subreddit}",
+      "comments");
   /**
    * Return a list of other submissions of the same URL.
    *
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.checkpoint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks whether positions are persisted across instances of the store.
+ */
+public class FileCheckpointStoreTest {
+  @TempDir
+  Path directory;
+  Path file;
+  FileCheckpointStore store;
+
+  @BeforeEach
+  public void setUp() {
+    file = directory.resolve("checkpoints.properties");
+    store = new FileCheckpointStore(file);
+  }
+
+  @Test
+  public void testLoadWithoutFile() throws IOException {
+    assertEquals(store.load("RedditDev"), Optional.empty());
+  }
+
+  @Test
+  public void testStore() throws IOException {
+    store.store("RedditDev", "abc");
+    store.store("java", "def");
+    store.store("RedditDev", "abd");
+
+    // A new instance reads the persisted positions
+    FileCheckpointStore other = new FileCheckpointStore(file);
+    assertEquals(other.load("RedditDev"), Optional.of("abd"));
+    assertEquals(other.load("java"), Optional.of("def"));
+  }
+
+  @Test
+  public void testStoreWithoutTemporaryFiles() throws IOException {
+    store.store("RedditDev", "abc");
+
+    try (Stream<Path> files = Files.list(directory)) {
+      List<Path> result = files.collect(Collectors.toList());
+      assertEquals(result, List.of(file));
+    }
+  }
+
+  @Test
+  public void testStoreWithFailedWrite() throws IOException {
+    // The parent of the file is replaced by a regular file
+    file = directory.resolve("blocked").resolve("checkpoints.properties");
+    Files.createFile(file.getParent());
+    FileCheckpointStore blocked = new FileCheckpointStore(file);
+
+    assertThrows(IOException.class, () -> blocked.store("RedditDev", "abd"));
+    // The failed position is written again on the next attempt
+    assertEquals(blocked.load("RedditDev"), Optional.empty());
+    assertThrows(IOException.class, () -> blocked.store("RedditDev", "abd"));
+  }
+
+  @Test
+  public void testStoreCreatesDirectories() throws IOException {
+    file = directory.resolve("nested").resolve("checkpoints.properties");
+    new FileCheckpointStore(file).store("RedditDev", "abc");
+    assertTrue(Files.exists(file));
+  }
+}
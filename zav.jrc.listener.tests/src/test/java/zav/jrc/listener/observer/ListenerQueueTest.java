@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.observer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import zav.jrc.listener.GenericEvent;
+
+/**
+ * Checks whether events are passed to listeners in order and whether full
+ * queues are handled according to their overflow policy.
+ */
+public class ListenerQueueTest {
+  List<Runnable> tasks;
+  List<Integer> received;
+
+  /**
+   * Uses an executor which only collects the submitted tasks, so that the
+   * listener is only notified when the tasks are run explicitly.
+   */
+  @BeforeEach
+  public void setUp() {
+    tasks = new ArrayList<>();
+    received = new ArrayList<>();
+  }
+
+  private ListenerQueue<Integer> create(int capacity, OverflowPolicy policy) {
+    return new ListenerQueue<>(event -> received.add(event.getSource()), tasks::add, capacity,
+        policy);
+  }
+
+  private void offer(ListenerQueue<Integer> queue, int... values) throws InterruptedException {
+    for (int value : values) {
+      queue.offer(new GenericEvent<>(value));
+    }
+  }
+
+  @Test
+  public void testOrder() throws InterruptedException {
+    ListenerQueue<Integer> queue = create(10, OverflowPolicy.BLOCK);
+    offer(queue, 1, 2, 3);
+
+    // Only a single task drains the queue
+    assertEquals(tasks.size(), 1);
+    tasks.remove(0).run();
+    assertEquals(received, List.of(1, 2, 3));
+
+    // A new task is submitted once the queue has been drained
+    offer(queue, 4);
+    assertEquals(tasks.size(), 1);
+    tasks.remove(0).run();
+    assertEquals(received, List.of(1, 2, 3, 4));
+  }
+
+  @Test
+  public void testRejectedExecution() throws InterruptedException {
+    List<Runnable> accepted = new ArrayList<>();
+    AtomicBoolean reject = new AtomicBoolean(true);
+    ListenerQueue<Integer> queue = new ListenerQueue<>(event -> received.add(event.getSource()),
+        task -> {
+          if (reject.get()) {
+            throw new RejectedExecutionException();
+          }
+          accepted.add(task);
+        }, 10, OverflowPolicy.BLOCK);
+
+    assertThrows(RejectedExecutionException.class, () -> offer(queue, 1));
+
+    // The next event submits a new task, which drains both events
+    reject.set(false);
+    offer(queue, 2);
+    assertEquals(accepted.size(), 1);
+    accepted.remove(0).run();
+    assertEquals(received, List.of(1, 2));
+  }
+
+  @Test
+  public void testListenerError() throws InterruptedException {
+    ListenerQueue<Integer> queue = new ListenerQueue<>(event -> {
+      if (event.getSource() == 1) {
+        throw new AssertionError();
+      }
+      received.add(event.getSource());
+    }, tasks::add, 10, OverflowPolicy.BLOCK);
+
+    offer(queue, 1, 2);
+    assertThrows(AssertionError.class, () -> tasks.remove(0).run());
+
+    // The next event submits a new task, which drains the remaining events
+    offer(queue, 3);
+    assertEquals(tasks.size(), 1);
+    tasks.remove(0).run();
+    assertEquals(received, List.of(2, 3));
+  }
+
+  @Test
+  public void testFlush() throws InterruptedException {
+    ListenerQueue<Integer> queue = create(10, OverflowPolicy.BLOCK);
+    assertTrue(queue.flush().isDone());
+
+    offer(queue, 1, 2);
+    CompletableFuture<Void> future = queue.flush();
+    offer(queue, 3);
+
+    // Only waits for the events which have been queued before
+    assertFalse(future.isDone());
+    tasks.remove(0).run();
+    assertTrue(future.isDone());
+    assertTrue(queue.flush().isDone());
+  }
+
+  @Test
+  public void testDropOldest() throws InterruptedException {
+    ListenerQueue<Integer> queue = create(2, OverflowPolicy.DROP_OLDEST);
+    offer(queue, 1, 2, 3, 4);
+    tasks.remove(0).run();
+
+    assertEquals(received, List.of(3, 4));
+    assertEquals(queue.getDropped(), 2L);
+  }
+
+  @Test
+  public void testDropNewest() throws InterruptedException {
+    ListenerQueue<Integer> queue = create(2, OverflowPolicy.DROP_NEWEST);
+    offer(queue, 1, 2, 3, 4);
+    tasks.remove(0).run();
+
+    assertEquals(received, List.of(1, 2));
+    assertEquals(queue.getDropped(), 2L);
+  }
+
+  @Test
+  public void testBlock() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    CountDownLatch latch = new CountDownLatch(1);
+    List<Integer> result = new ArrayList<>();
+
+    ListenerQueue<Integer> queue = new ListenerQueue<>(event -> {
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      synchronized (result) {
+        result.add(event.getSource());
+      }
+    }, executor, 1, OverflowPolicy.BLOCK);
+
+    Thread producer = new Thread(() -> {
+      try {
+        offer(queue, 1, 2, 3);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    producer.start();
+
+    // The producer waits for the blocked listener
+    producer.join(200);
+    assertTrue(producer.isAlive());
+
+    latch.countDown();
+    producer.join(5000);
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+    synchronized (result) {
+      assertEquals(result, List.of(1, 2, 3));
+    }
+    assertEquals(queue.getDropped(), 0L);
+  }
+
+  @Test
+  public void testInvalidCapacity() {
+    assertThrows(IllegalArgumentException.class, () -> create(0, OverflowPolicy.BLOCK));
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.observer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.databind.Identifiers;
+import zav.jrc.databind.LinkEntity;
+import zav.jrc.databind.Page;
+import zav.jrc.listener.paginator.Paginator;
+
+/**
+ * Checks whether the paginators are only polled while the subscribers signal
+ * demand.
+ */
+public class ListingPublisherTest {
+  ScheduledExecutorService scheduler;
+  /**
+   * The ids of all links in the listing, sorted from newest to oldest.
+   */
+  List<String> links;
+  AtomicInteger polls;
+  boolean rejected;
+  ListingPublisher<LinkEntity> publisher;
+
+  /**
+   * Creates a publisher over a listing, which grows by five links per poll.
+   */
+  @BeforeEach
+  public void setUp() {
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+    links = Collections.synchronizedList(new ArrayList<>(List.of("100")));
+    polls = new AtomicInteger();
+    publisher = new ListingPublisher<>(() -> new Paginator<LinkEntity>() {
+      @Override
+      protected String getId(LinkEntity source) {
+        return source.getId();
+      }
+
+      @Override
+      protected String getKind() {
+        return "t3";
+      }
+
+      @Override
+      protected Page<LinkEntity> nextListing(String before, String after, int limit)
+          throws FailedRequestException {
+        if (rejected) {
+          throw FailedRequestException.wrap(new IOException("Rejected"));
+        }
+
+        if (polls.getAndIncrement() > 0) {
+          long newest = Identifiers.parse(links.get(0));
+          for (int i = 1; i <= 5; ++i) {
+            links.add(0, Identifiers.toId(newest + i));
+          }
+        }
+
+        return new Page<>(links.stream().limit(limit).map(id -> {
+          LinkEntity link = new LinkEntity();
+          link.setId(id);
+          return link;
+        }).collect(Collectors.toList()), null, null);
+      }
+    }, LinkEntity::getId, scheduler, Duration.ofMillis(10));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * Collects the ids of all received links.
+   */
+  static class Collector implements Flow.Subscriber<LinkEntity> {
+    final List<String> received = Collections.synchronizedList(new ArrayList<>());
+    final CompletableFuture<Throwable> error = new CompletableFuture<>();
+    Flow.Subscription subscription;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(LinkEntity item) {
+      received.add(item.getId());
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error.complete(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      error.complete(null);
+    }
+  }
+
+  private static void await(Collector collector, int size) throws InterruptedException {
+    for (int i = 0; i < 500 && collector.received.size() < size; ++i) {
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+  }
+
+  @Test
+  public void testDemand() throws InterruptedException {
+    Collector collector = new Collector();
+    publisher.subscribe(collector);
+
+    collector.subscription.request(3);
+    await(collector, 3);
+
+    // Oldest links are emitted first
+    assertEquals(collector.received, List.of("101", "102", "103"));
+
+    // Without demand, the listing is no longer polled
+    int current = polls.get();
+    TimeUnit.MILLISECONDS.sleep(100);
+    assertEquals(polls.get(), current);
+
+    // The buffered links are emitted before polling again
+    collector.subscription.request(2);
+    await(collector, 5);
+    assertEquals(collector.received, List.of("101", "102", "103", "104", "105"));
+    assertEquals(polls.get(), current);
+  }
+
+  @Test
+  public void testCancel() throws InterruptedException {
+    Collector collector = new Collector();
+    publisher.subscribe(collector);
+
+    collector.subscription.request(Long.MAX_VALUE);
+    await(collector, 5);
+    collector.subscription.cancel();
+
+    TimeUnit.MILLISECONDS.sleep(50);
+    int current = polls.get();
+    TimeUnit.MILLISECONDS.sleep(100);
+    assertEquals(polls.get(), current);
+  }
+
+  @Test
+  public void testRejected() throws Exception {
+    rejected = true;
+
+    Collector collector = new Collector();
+    publisher.subscribe(collector);
+    collector.subscription.request(1);
+
+    assertTrue(collector.error.get(5, TimeUnit.SECONDS) instanceof FailedRequestException);
+  }
+
+  @Test
+  public void testInvalidDemand() throws Exception {
+    Collector collector = new Collector();
+    publisher.subscribe(collector);
+    collector.subscription.request(0);
+
+    assertTrue(collector.error.get(5, TimeUnit.SECONDS) instanceof IllegalArgumentException);
+  }
+}
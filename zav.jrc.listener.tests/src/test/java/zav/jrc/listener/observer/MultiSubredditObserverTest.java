@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package zav.jrc.listener.observer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockedConstruction;
+import org.mockito.junit.jupiter.MockitoExtension;
+import zav.jrc.client.Client;
+import zav.jrc.databind.LinkEntity;
+import zav.jrc.listener.GenericEvent;
+import zav.jrc.listener.GenericListener;
+import zav.jrc.listener.paginator.LinkPaginator;
+
+/**
+ * Checks whether subreddits are polled in batches and whether the links are
+ * passed to the correct listeners.
+ */
+@ExtendWith(MockitoExtension.class)
+public class MultiSubredditObserverTest {
+  @Mock
+  Client client;
+  @Mock
+  GenericListener<LinkEntity> foo;
+  @Mock
+  GenericListener<LinkEntity> bar;
+  MultiSubredditObserver observer;
+  /**
+   * The combined subreddit names of all requests.
+   */
+  List<String> requests;
+
+  /**
+   * Creates an observer for the subreddits {@code foo} and {@code bar}.
+   */
+  @BeforeEach
+  public void setUp() {
+    observer = new MultiSubredditObserver(client);
+    requests = new ArrayList<>();
+    assertTrue(observer.addListener("Foo", foo));
+    assertTrue(observer.addListener("bar", bar));
+  }
+
+  @Test
+  public void testAddListener() {
+    assertFalse(observer.addListener("foo", foo));
+    assertTrue(observer.addListener("baz", foo));
+    assertEquals(observer.size(), 3);
+  }
+
+  @Test
+  public void testRemoveListener() {
+    assertTrue(observer.removeListener("FOO", foo));
+    assertFalse(observer.removeListener("foo", foo));
+    assertFalse(observer.removeListener("bar", foo));
+    assertEquals(observer.size(), 1);
+    assertEquals(observer.getBatches().size(), 1);
+  }
+
+  @Test
+  public void testGetBatches() {
+    observer.addListener("baz", foo);
+    observer.setMaxLength("bar+baz".length());
+
+    List<List<String>> batches = observer.getBatches().stream()
+        .map(batch -> batch.stream()
+            .map(MultiSubredditObserver.Subscription::getName)
+            .collect(Collectors.toList()))
+        .collect(Collectors.toList());
+
+    assertEquals(batches, List.of(List.of("bar", "baz"), List.of("foo")));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testNotifyAllListeners() throws Exception {
+    // Initialize the heads
+    poll(List.of(), "10");
+
+    assertEquals(requests, List.of("bar+foo"));
+    verify(foo, never()).notify(any());
+
+    poll(List.of(link("13", "foo"), link("12", "bar"), link("11", "Foo")), "13");
+
+    ArgumentCaptor<GenericEvent<LinkEntity>> events = ArgumentCaptor.forClass(GenericEvent.class);
+    verify(foo, times(2)).notify(events.capture());
+    // Oldest link first
+    assertEquals(events.getAllValues().get(0).getSource().getId(), "11");
+    assertEquals(events.getAllValues().get(1).getSource().getId(), "13");
+    verify(bar).notify(any());
+
+    observer.getBatches().get(0).forEach(subscription -> {
+      assertEquals(subscription.getHead(), "13");
+    });
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testNotifyAllListenersOfAllSubreddits() throws Exception {
+    GenericListener<LinkEntity> all = mock(GenericListener.class);
+    Observer<LinkEntity> generic = observer;
+
+    assertTrue(generic.addListener(all));
+    assertEquals(generic.size(), 3);
+
+    poll(List.of(), "10");
+    poll(List.of(link("13", "foo"), link("12", "bar"), link("11", "Foo")), "13");
+
+    ArgumentCaptor<GenericEvent<LinkEntity>> events = ArgumentCaptor.forClass(GenericEvent.class);
+    verify(all, times(3)).notify(events.capture());
+    // Links of all subreddits, oldest link first
+    List<String> ids = events.getAllValues().stream()
+        .map(event -> event.getSource().getId())
+        .collect(Collectors.toList());
+    assertEquals(ids, List.of("11", "12", "13"));
+
+    assertTrue(generic.removeListener(all));
+    assertEquals(generic.size(), 2);
+  }
+
+  private void poll(List<LinkEntity> links, String head) throws Exception {
+    try (MockedConstruction<LinkPaginator> mocked = mockConstruction(LinkPaginator.class,
+        (mock, context) -> {
+          requests.add((String) context.arguments().get(1));
+          when(mock.next()).thenReturn(links);
+          when(mock.getHead()).thenReturn(head);
+        })) {
+      observer.notifyAllListeners();
+    }
+  }
+
+  private static LinkEntity link(String id, String subreddit) {
+    LinkEntity link = mock(LinkEntity.class);
+    when(link.getId()).thenReturn(id);
+    when(link.getSubreddit()).thenReturn(subreddit);
+    return link;
+  }
+}
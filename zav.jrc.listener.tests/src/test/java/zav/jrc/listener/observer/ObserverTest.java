@@ -19,15 +19,21 @@ package zav.jrc.listener.observer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -37,8 +43,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import zav.jrc.client.Client;
 import zav.jrc.client.FailedRequestException;
 import zav.jrc.databind.LinkEntity;
+import zav.jrc.databind.MessageEntity;
 import zav.jrc.listener.GenericListener;
 import zav.jrc.listener.paginator.LinkPaginator;
+import zav.jrc.listener.paginator.MessagePaginator;
 
 /**
  * Checks whether listeners that have been added to an observer are properly
@@ -52,6 +60,8 @@ public class ObserverTest {
   GenericListener<LinkEntity> foo;
   @Mock
   GenericListener<LinkEntity> bar;
+  @Mock
+  GenericListener<MessageEntity> message;
   Observer<LinkEntity> observer;
   LinkPaginator requester;
 
@@ -67,6 +77,20 @@ public class ObserverTest {
     }
   }
 
+  @Test
+  public void testInboxObserverWithDropPolicy() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      assertThrows(IllegalArgumentException.class,
+          () -> new InboxObserver(client, executor, 1, OverflowPolicy.DROP_OLDEST));
+      assertThrows(IllegalArgumentException.class,
+          () -> new InboxObserver(client, executor, 1, OverflowPolicy.DROP_NEWEST));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @Test
   public void testAddListener() {
     assertEquals(observer.size(), 0);
@@ -114,6 +138,104 @@ public class ObserverTest {
     verify(bar).notify(any());
   }
 
+  @Test
+  public void testNotifyAllListenersOnExecutor() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try (MockedConstruction<LinkPaginator> mocked = mockConstruction(LinkPaginator.class)) {
+      observer = new SubredditObserver(client, "subreddit", executor);
+      requester = mocked.constructed().get(0);
+    }
+
+    when(requester.next()).thenReturn(List.of(mock(LinkEntity.class)));
+
+    observer.addListener(foo);
+    observer.addListener(bar);
+    observer.notifyAllListenersAsync(executor).join();
+    verify(foo).notify(any());
+    verify(bar).notify(any());
+
+    executor.shutdown();
+  }
+
+  @Test
+  public void testNotifyAllListenersQueued() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try (MockedConstruction<LinkPaginator> mocked = mockConstruction(LinkPaginator.class)) {
+      observer = new SubredditObserver(client, "subreddit", executor, 10,
+          OverflowPolicy.DROP_OLDEST);
+      requester = mocked.constructed().get(0);
+    }
+
+    when(requester.next()).thenReturn(List.of(mock(LinkEntity.class)));
+
+    observer.addListener(foo);
+    observer.addListener(bar);
+    observer.notifyAllListeners();
+    verify(foo, timeout(5000)).notify(any());
+    verify(bar, timeout(5000)).notify(any());
+
+    executor.shutdown();
+  }
+
+  @Test
+  public void testNotifyAllListenersInterrupted() throws Exception {
+    // Queued events are only processed afterwards, so the second event has to wait
+    List<Runnable> tasks = new ArrayList<>();
+
+    try (MockedConstruction<LinkPaginator> mocked = mockConstruction(LinkPaginator.class)) {
+      observer = new SubredditObserver(client, "subreddit", tasks::add, 1, OverflowPolicy.BLOCK);
+      requester = mocked.constructed().get(0);
+    }
+
+    LinkEntity first = mock(LinkEntity.class);
+    LinkEntity second = mock(LinkEntity.class);
+    when(first.getId()).thenReturn("a");
+    when(second.getId()).thenReturn("b");
+    when(requester.next()).thenReturn(List.of(first, second));
+    when(requester.getHead()).thenReturn("t3_b");
+
+    observer.addListener(foo);
+    Thread.currentThread().interrupt();
+
+    try {
+      observer.notifyAllListeners();
+      assertTrue(Thread.currentThread().isInterrupted());
+    } finally {
+      Thread.interrupted();
+    }
+
+    tasks.forEach(Runnable::run);
+    verify(foo).notify(any());
+
+    // The head must not be persisted, as not all Things have been queued
+    verify(requester, never()).checkpoint(any());
+  }
+
+  @Test
+  public void testInboxObserverAcknowledgeProcessed() throws Exception {
+    List<Runnable> tasks = new ArrayList<>();
+    InboxObserver inbox;
+    MessagePaginator messages;
+
+    try (MockedConstruction<MessagePaginator> mocked = mockConstruction(MessagePaginator.class)) {
+      inbox = new InboxObserver(client, tasks::add, 10, OverflowPolicy.BLOCK);
+      messages = mocked.constructed().get(0);
+    }
+
+    when(messages.next()).thenReturn(List.of(mock(MessageEntity.class)));
+
+    inbox.addListener(message);
+    inbox.notifyAllListeners();
+    verify(messages, never()).acknowledge();
+
+    // Messages are only marked as read once they have been processed
+    tasks.forEach(Runnable::run);
+    verify(message).notify(any());
+    verify(messages).acknowledge();
+  }
+
   @Test
   public void testSize() {
     assertEquals(observer.size(), 0);
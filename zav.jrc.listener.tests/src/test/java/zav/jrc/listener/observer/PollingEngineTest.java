@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package zav.jrc.listener.observer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.client.http.HttpException;
+import zav.jrc.databind.LinkEntity;
+
+/**
+ * Checks whether observers are polled periodically, without overlapping polls
+ * and with backoff in case of failures.
+ */
+public class PollingEngineTest {
+  static final Duration INTERVAL = Duration.ofMillis(20);
+  ScheduledExecutorService scheduler;
+  PollingEngine engine;
+  Observer<LinkEntity> observer;
+
+  /**
+   * Creates the engine and a mock of the observer.
+   */
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    scheduler = Executors.newScheduledThreadPool(2);
+    engine = new PollingEngine(scheduler);
+    observer = mock(Observer.class);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    engine.close();
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void testSchedule() throws Exception {
+    CountDownLatch latch = new CountDownLatch(3);
+    doAnswer(invocation -> {
+      latch.countDown();
+      return null;
+    }).when(observer).notifyAllListeners();
+
+    PollingEngine.Statistics statistics = engine.schedule(observer, INTERVAL, Duration.ZERO);
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertTrue(statistics.getPolls() >= 2);
+    assertEquals(statistics.getFailures(), 0);
+    assertThrows(IllegalArgumentException.class,
+        () -> engine.schedule(observer, INTERVAL, Duration.ZERO));
+  }
+
+  @Test
+  public void testSkipOverlappingTicks() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch blocked = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      started.countDown();
+      blocked.await();
+      return null;
+    }).when(observer).notifyAllListeners();
+
+    PollingEngine.Statistics statistics = engine.schedule(observer, INTERVAL, Duration.ZERO);
+
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    Thread.sleep(INTERVAL.toMillis() * 5);
+    blocked.countDown();
+
+    // The blocked poll is the only one
+    verify(observer, times(1)).notifyAllListeners();
+    assertTrue(statistics.getSkippedTicks() > 0);
+  }
+
+  @Test
+  public void testBackoff() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      latch.countDown();
+      throw FailedRequestException.wrap(new HttpException(503, "Service Unavailable"));
+    }).when(observer).notifyAllListeners();
+
+    PollingEngine.Statistics statistics = engine.schedule(observer, INTERVAL, Duration.ZERO);
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    Thread.sleep(INTERVAL.toMillis() * 3);
+
+    // The first retry happens after two intervals at the earliest
+    assertTrue(statistics.getDeferredTicks() > 0);
+    assertTrue(statistics.getFailures() <= 2);
+  }
+
+  @Test
+  public void testCancel() {
+    engine.schedule(observer, INTERVAL, Duration.ZERO);
+
+    assertTrue(engine.cancel(observer));
+    assertNull(engine.getStatistics(observer));
+    assertFalse(engine.cancel(observer));
+  }
+}
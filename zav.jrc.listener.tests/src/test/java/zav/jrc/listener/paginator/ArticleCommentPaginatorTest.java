@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.paginator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import zav.jrc.client.Client;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.databind.CommentEntity;
+import zav.jrc.databind.ThingEntity;
+import zav.jrc.databind.Things;
+
+/**
+ * Checks whether the comment tree of a submission is flattened and whether only
+ * new comments are returned.
+ */
+public class ArticleCommentPaginatorTest {
+  Client client;
+  ArticleCommentPaginator paginator;
+
+  @BeforeEach
+  public void setUp() {
+    client = mock(Client.class, RETURNS_DEEP_STUBS);
+    paginator = new ArticleCommentPaginator(client, "abc");
+  }
+
+  private static String comment(String id, String replies) {
+    return "{'kind':'t1','data':{'id':'" + id + "','replies':" + replies + "}}";
+  }
+
+  private static String listing(String... children) {
+    return "{'kind':'Listing','data':{'children':[" + String.join(",", children) + "]}}";
+  }
+
+  private static ThingEntity[] response(String tree) {
+    String json = "[" + listing("{'kind':'t3','data':{'id':'abc'}}") + "," + tree + "]";
+    return Things.transform(json.replace('\'', '"'), ThingEntity[].class);
+  }
+
+  private static List<String> ids(List<CommentEntity> comments) {
+    return comments.stream().map(CommentEntity::getId).collect(Collectors.toList());
+  }
+
+  @Test
+  public void testNext() throws FailedRequestException {
+    ThingEntity[] first = response(listing( //
+        comment("10", listing(comment("30", "''"))), //
+        comment("20", "''"), //
+        "{'kind':'more','data':{'id':'40','children':['40']}}"));
+    ThingEntity[] second = response(listing( //
+        comment("10", listing(comment("30", "''"), comment("60", "''"))), //
+        comment("20", listing(comment("50", "''"))), //
+        comment("70", "''")));
+
+    when(client.newRequest().withEndpoint(any(), any()).withParams(any()).withPriority(any())
+        .withCredentials(any()).get(ThingEntity[].class)).thenReturn(first, second, second);
+
+    // The newest reply becomes the head
+    assertTrue(paginator.next().isEmpty());
+    assertEquals(paginator.getHead(), "30");
+    // Replies of older comments are returned as well, newest first
+    assertEquals(ids(paginator.next()), List.of("70", "60", "50"));
+    assertEquals(paginator.getHead(), "70");
+    assertTrue(paginator.next().isEmpty());
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.paginator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks whether the window rejects duplicates, while still accepting late
+ * arrivals above its floor.
+ */
+public class DedupeWindowTest {
+  @Test
+  public void testAccept() {
+    DedupeWindow window = new DedupeWindow(4);
+
+    assertTrue(window.accept(10));
+    assertFalse(window.accept(10));
+    // Late arrivals are accepted as well
+    assertTrue(window.accept(5));
+    assertEquals(window.size(), 2);
+  }
+
+  @Test
+  public void testEviction() {
+    DedupeWindow window = new DedupeWindow(2);
+
+    assertTrue(window.accept(10));
+    assertTrue(window.accept(5));
+    assertTrue(window.accept(20));
+
+    // 10 has been evicted, hence everything up to 10 is rejected
+    assertEquals(window.getFloor(), 10);
+    assertFalse(window.accept(10));
+    assertFalse(window.accept(7));
+    assertFalse(window.accept(5));
+    assertTrue(window.accept(15));
+    assertEquals(window.size(), 2);
+  }
+
+  @Test
+  public void testReset() {
+    DedupeWindow window = new DedupeWindow(2);
+
+    window.accept(10);
+    window.reset(20);
+
+    assertEquals(window.size(), 0);
+    assertFalse(window.accept(15));
+    assertTrue(window.accept(21));
+  }
+
+  @Test
+  public void testAgainstReference() {
+    DedupeWindow window = new DedupeWindow(64);
+    Deque<Long> ring = new ArrayDeque<>();
+    Set<Long> accepted = new HashSet<>();
+    Random random = new Random(42);
+    long floor = -1;
+
+    for (int i = 0; i < 100_000; ++i) {
+      // Mostly ascending ids with some jitter, similar to a listing
+      long id = i + random.nextInt(200);
+      boolean expected = id > floor && !accepted.contains(id);
+
+      assertEquals(window.accept(id), expected);
+
+      if (expected) {
+        if (ring.size() == 64) {
+          long evicted = ring.poll();
+          accepted.remove(evicted);
+          floor = Math.max(floor, evicted);
+        }
+
+        ring.add(id);
+        accepted.add(id);
+      }
+    }
+
+    for (long id : accepted) {
+      assertTrue(window.contains(id));
+    }
+  }
+
+  @Test
+  public void testInvalidCapacity() {
+    assertThrows(IllegalArgumentException.class, () -> new DedupeWindow(0));
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.paginator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import zav.jrc.client.Client;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.client.http.RequestBuilder;
+import zav.jrc.databind.MessageEntity;
+import zav.jrc.databind.core.ListingEntity;
+
+/**
+ * Checks whether unread messages are returned exactly once and acknowledged
+ * with a single request.
+ */
+public class MessagePaginatorTest {
+  /**
+   * The fullnames of all unread messages, sorted from newest to oldest.
+   */
+  List<String> unread;
+  RequestBuilder builder;
+  MessagePaginator paginator;
+
+  /**
+   * Creates a paginator over the unread messages, which can be modified by the
+   * individual tests.
+   */
+  @BeforeEach
+  public void setUp() throws FailedRequestException {
+    Client client = mock(Client.class);
+    builder = mock(RequestBuilder.class, RETURNS_SELF);
+    when(client.getOwner()).thenReturn(client);
+    when(client.newRequest()).thenReturn(builder);
+
+    unread = new ArrayList<>(List.of("t4_2", "t1_1"));
+    paginator = new MessagePaginator(client) {
+      @Override
+      protected ListingEntity nextListing(String after) {
+        ListingEntity listing = new ListingEntity();
+        listing.setChildren(unread.stream().map(name -> Map.of( //
+            "kind", name.substring(0, 2), //
+            "data", Map.of("name", name, "id", name.substring(3)))) //
+            .collect(Collectors.toList()));
+        return listing;
+      }
+    };
+  }
+
+  private static List<String> names(List<MessageEntity> messages) {
+    return messages.stream().map(MessageEntity::getName).collect(Collectors.toList());
+  }
+
+  @Test
+  public void testNext() {
+    assertEquals(names(paginator.next()), List.of("t4_2", "t1_1"));
+    assertEquals(paginator.getPending(), 2);
+    // Messages aren't returned twice, even if they haven't been read yet
+    assertTrue(paginator.next().isEmpty());
+
+    unread.add(0, "t4_3");
+    assertEquals(names(paginator.next()), List.of("t4_3"));
+    assertEquals(paginator.getPending(), 3);
+  }
+
+  @Test
+  public void testAcknowledge() throws FailedRequestException {
+    paginator.acknowledge();
+    verify(builder, never()).post();
+
+    paginator.next();
+    paginator.acknowledge();
+    verify(builder).withBody(Map.of("id", "t4_2,t1_1"));
+    assertEquals(paginator.getPending(), 0);
+  }
+
+  @Test
+  public void testAcknowledgeInChunks() throws FailedRequestException {
+    unread.clear();
+    for (int i = 0; i < 150; ++i) {
+      unread.add("t4_" + i);
+    }
+
+    paginator.next();
+    paginator.acknowledge();
+    verify(builder, times(2)).post();
+    assertEquals(paginator.getPending(), 0);
+  }
+
+  @Test
+  public void testReadElsewhere() {
+    paginator.next();
+    unread.remove("t1_1");
+    assertTrue(paginator.next().isEmpty());
+    assertEquals(paginator.getPending(), 1);
+  }
+}
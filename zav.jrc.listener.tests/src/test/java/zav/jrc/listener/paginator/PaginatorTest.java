@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package zav.jrc.listener.paginator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import zav.jrc.databind.Identifiers;
+import zav.jrc.databind.LinkEntity;
+import zav.jrc.databind.Page;
+import zav.jrc.listener.checkpoint.CheckpointStore;
+
+/**
+ * Checks whether the paginator walks the listing via its cursors and stops at
+ * the first page containing the head.
+ */
+public class PaginatorTest {
+  /**
+   * The ids of all links in the listing, sorted from newest to oldest.
+   */
+  List<String> links;
+  /**
+   * The cursors of all requested pages.
+   */
+  List<String> requests;
+  /**
+   * The page sizes of all requested pages.
+   */
+  List<Integer> limits;
+  Paginator<LinkEntity> paginator;
+
+  /**
+   * Creates a paginator over a listing of links, which can be modified by the
+   * individual tests.
+   */
+  @BeforeEach
+  public void setUp() {
+    links = new ArrayList<>(List.of("100", "zz", "zy"));
+    requests = new ArrayList<>();
+    limits = new ArrayList<>();
+    paginator = new Paginator<LinkEntity>() {
+      @Override
+      protected String getId(LinkEntity source) {
+        return source.getId();
+      }
+
+      @Override
+      protected String getKind() {
+        return "t3";
+      }
+
+      @Override
+      protected Page<LinkEntity> nextListing(String before, String after, int limit) {
+        requests.add(before == null ? after : before);
+        limits.add(limit);
+
+        int from;
+        int to;
+
+        if (before != null) {
+          // Anchor may have been deleted
+          to = Math.max(0, links.indexOf(before.substring(3)));
+          from = Math.max(0, to - limit);
+        } else {
+          from = after == null ? 0 : links.indexOf(after.substring(3)) + 1;
+          to = Math.min(links.size(), from + Math.min(limit, 2));
+        }
+
+        List<LinkEntity> children = links.subList(from, to).stream().map(id -> {
+          LinkEntity link = new LinkEntity();
+          link.setId(id);
+          return link;
+        }).collect(Collectors.toList());
+
+        return new Page<>(children,
+            before == null && to < links.size() ? "t3_" + links.get(to - 1) : null, null);
+      }
+    };
+  }
+
+  @Test
+  public void testInit() {
+    assertTrue(paginator.next().isEmpty());
+    assertEquals(paginator.getHead(), "100");
+  }
+
+  @Test
+  public void testNextWithoutNewElements() {
+    paginator.next();
+    requests.clear();
+
+    assertTrue(paginator.next().isEmpty());
+    assertEquals(requests.size(), 1);
+  }
+
+  @Test
+  public void testNextAcrossRadixBoundary() {
+    links = new ArrayList<>(List.of("zz", "zy"));
+    paginator.next();
+    assertEquals(paginator.getHead(), "zz");
+
+    links.add(0, "100");
+    links.add(0, "101");
+    requests.clear();
+
+    List<String> result = paginator.next().stream()
+        .map(LinkEntity::getId)
+        .collect(Collectors.toList());
+
+    // Newer elements are returned, even though they are lexicographically smaller
+    assertEquals(result, List.of("101", "100"));
+    assertEquals(paginator.getHead(), "101");
+    // The first page only contains new elements, the second one contains the head
+    assertEquals(requests.size(), 2);
+    assertNull(requests.get(0));
+    assertEquals(requests.get(1), "t3_100");
+  }
+
+  @Test
+  public void testNextWithDeletedHead() {
+    paginator.next();
+
+    links.remove("100");
+    links.add(0, "102");
+    links.add(0, "103");
+    links.add(0, "104");
+
+    List<String> result = paginator.next().stream()
+        .map(LinkEntity::getId)
+        .collect(Collectors.toList());
+
+    assertEquals(result, List.of("104", "103", "102"));
+    assertTrue(Identifiers.compare(paginator.getHead(), "zz") > 0);
+  }
+
+  @Test
+  public void testNextIncrementalWithoutNewElements() {
+    paginator.setIncremental(true);
+    paginator.next();
+    requests.clear();
+
+    assertTrue(paginator.next().isEmpty());
+    // A single, small page anchored at the head
+    assertEquals(requests, List.of("t3_100"));
+    assertTrue(limits.get(limits.size() - 1) < Paginator.LIMIT);
+  }
+
+  @Test
+  public void testNextWithLateArrival() {
+    paginator.setDeduplication(16);
+    paginator.next();
+
+    links.add(0, "102");
+    assertEquals(paginator.next().size(), 1);
+
+    // 101 is created before 102, but only appears afterwards
+    links.add(1, "101");
+
+    List<String> result = paginator.next().stream()
+        .map(LinkEntity::getId)
+        .collect(Collectors.toList());
+
+    assertEquals(result, List.of("101"));
+    assertEquals(paginator.getHead(), "102");
+  }
+
+  @Test
+  public void testNextWithoutDuplicates() {
+    paginator.setDeduplication(16);
+    paginator.next();
+
+    links.add(0, "101");
+    links.add(0, "102");
+    assertEquals(paginator.next().size(), 2);
+
+    // Moving the head back doesn't return the same elements again
+    paginator.setHead("100");
+    assertTrue(paginator.next().isEmpty());
+  }
+
+  @Test
+  public void testNextWithCheckpoint() {
+    Map<String, String> positions = new HashMap<>(Map.of("links", "zz"));
+
+    paginator.setCheckpoint(new CheckpointStore() {
+      @Override
+      public Optional<String> load(String key) {
+        return Optional.ofNullable(positions.get(key));
+      }
+
+      @Override
+      public void store(String key, String head) {
+        positions.put(key, head);
+      }
+    }, "links");
+
+    List<String> result = paginator.next().stream()
+        .map(LinkEntity::getId)
+        .collect(Collectors.toList());
+
+    // The persisted head is used instead of retrieving a new one
+    assertEquals(result, List.of("100"));
+    // The head is only persisted once the elements have been processed
+    assertEquals(positions, Map.of("links", "zz"));
+
+    paginator.checkpoint("100");
+    assertEquals(positions, Map.of("links", "100"));
+
+    // Older heads are ignored
+    paginator.checkpoint("zz");
+    assertEquals(positions, Map.of("links", "100"));
+  }
+
+  @Test
+  public void testNextWithBoundedCatchUp() {
+    paginator.next();
+
+    for (int i = 0; i < 30; ++i) {
+      links.add(0, Identifiers.toId(Identifiers.parse("101") + i));
+    }
+
+    requests.clear();
+
+    // Pages contain two elements, hence only the most recent elements are returned
+    assertEquals(paginator.next().size(), 2 * Paginator.MAX_PAGES);
+    assertEquals(requests.size(), Paginator.MAX_PAGES);
+  }
+
+  @Test
+  public void testNextIncremental() {
+    paginator.setIncremental(true);
+    paginator.next();
+
+    for (int i = 0; i < 7; ++i) {
+      links.add(0, Identifiers.toId(Identifiers.parse("101") + i));
+    }
+
+    requests.clear();
+
+    List<String> result = paginator.next().stream()
+        .map(LinkEntity::getId)
+        .collect(Collectors.toList());
+
+    // The first page is full, so the newer elements are requested with a second page
+    assertEquals(result, List.of("107", "106", "105", "104", "103", "102", "101"));
+    assertEquals(requests, List.of("t3_100", "t3_105"));
+    assertEquals(paginator.getHead(), "107");
+  }
+
+  @Test
+  public void testNextIncrementalWithDeletedHead() {
+    paginator.setIncremental(true);
+    paginator.next();
+
+    links.remove("100");
+    links.add(0, "101");
+
+    // Deleted anchors result in empty pages, until the head is validated
+    for (int i = 1; i < 10; ++i) {
+      assertTrue(paginator.next().isEmpty());
+    }
+
+    List<String> result = paginator.next().stream()
+        .map(LinkEntity::getId)
+        .collect(Collectors.toList());
+
+    assertEquals(result, List.of("101"));
+    assertEquals(paginator.getHead(), "101");
+  }
+}
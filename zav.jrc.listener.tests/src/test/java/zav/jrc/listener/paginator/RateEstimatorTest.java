@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2023 Zavarov
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package zav.jrc.listener.paginator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks whether page size and poll interval follow the arrival rate.
+ */
+public class RateEstimatorTest {
+  static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+  static final Duration MIN = Duration.ofSeconds(5);
+  static final Duration MAX = Duration.ofMinutes(10);
+  RateEstimator estimator;
+
+  @BeforeEach
+  public void setUp() {
+    estimator = new RateEstimator();
+    estimator.start(0);
+  }
+
+  @Test
+  public void testIdle() {
+    estimator.record(0, 60 * SECOND);
+
+    assertEquals(estimator.getRate(), 0.0);
+    assertEquals(estimator.getLimit(120 * SECOND), 5);
+    assertEquals(estimator.getInterval(MIN, MAX), MAX);
+  }
+
+  @Test
+  public void testModerate() {
+    // One element every 30 seconds
+    estimator.record(2, 60 * SECOND);
+
+    assertEquals(estimator.getLimit(120 * SECOND), 5);
+    assertEquals(estimator.getInterval(MIN, MAX), Duration.ofSeconds(30));
+  }
+
+  @Test
+  public void testBusy() {
+    // Ten elements per second
+    estimator.record(100, 10 * SECOND);
+
+    assertEquals(estimator.getLimit(15 * SECOND), 75);
+    assertEquals(estimator.getLimit(100 * SECOND), Paginator.LIMIT);
+    assertEquals(estimator.getInterval(MIN, MAX), MIN);
+  }
+
+  @Test
+  public void testMovingAverage() {
+    estimator.record(10, 10 * SECOND);
+    estimator.record(0, 20 * SECOND);
+
+    assertEquals(estimator.getRate(), 0.7, 1e-9);
+  }
+}
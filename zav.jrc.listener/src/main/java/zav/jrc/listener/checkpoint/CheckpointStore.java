@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.checkpoint;
+
+import java.io.IOException;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Persists the position of paginators and observers, so that they can resume
+ * where they left off after a restart. Each position is identified by a unique
+ * key, e.g. the name of the observed subreddit.
+ */
+@NonNullByDefault
+public interface CheckpointStore {
+  /**
+   * Returns the last position stored under the given key.
+   *
+   * @param key The key identifying the paginator.
+   * @return The id of the most recent Thing, or an empty optional.
+   * @throws IOException If the store couldn't be read.
+   */
+  Optional<String> load(String key) throws IOException;
+
+  /**
+   * Stores the position of a paginator, replacing the previous one.
+   *
+   * @param key  The key identifying the paginator.
+   * @param head The id of the most recent Thing.
+   * @throws IOException If the store couldn't be written.
+   */
+  void store(String key, String head) throws IOException;
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.checkpoint;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.Properties;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores all positions in a single properties file. On every update, the
+ * complete file is written to a temporary file in the same directory, which
+ * is flushed to disk and then atomically replaces the previous file. A crash
+ * therefore leaves either the old or the new positions behind, but never a
+ * partially written file.
+ */
+@NonNullByDefault
+public class FileCheckpointStore implements CheckpointStore {
+  private static final Logger LOGGER = LoggerFactory.getLogger(FileCheckpointStore.class);
+
+  private final Path file;
+  /**
+   * The cached content of the file. Loaded on first access.
+   */
+  @Nullable
+  private Properties positions;
+
+  /**
+   * Creates a new store backed by the given file. The file is created on the
+   * first update, if it doesn't exist yet.
+   *
+   * @param file The file containing the positions.
+   */
+  public FileCheckpointStore(Path file) {
+    this.file = file.toAbsolutePath();
+  }
+
+  @Override
+  public synchronized Optional<String> load(String key) throws IOException {
+    return Optional.ofNullable(getPositions().getProperty(key));
+  }
+
+  @Override
+  public synchronized void store(String key, String head) throws IOException {
+    Properties current = getPositions();
+
+    if (head.equals(current.getProperty(key))) {
+      return;
+    }
+
+    // Only update the cached content once the file has been written
+    Properties updated = new Properties();
+    updated.putAll(current);
+    updated.setProperty(key, head);
+
+    Path directory = file.getParent();
+    Files.createDirectories(directory);
+
+    Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+    try {
+      write(temp, updated);
+      move(temp);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+
+    positions = updated;
+  }
+
+  /**
+   * Writes the positions to the given file and forces them onto the storage
+   * device, so that the file is complete once it replaces the previous one.
+   *
+   * @param target    The temporary file.
+   * @param positions The positions written to the file.
+   * @throws IOException If the file couldn't be written.
+   */
+  private static void write(Path target, Properties positions) throws IOException {
+    try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      positions.store(Channels.newOutputStream(channel), null);
+      channel.force(true);
+    }
+  }
+
+  private void move(Path temp) throws IOException {
+    try {
+      Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      LOGGER.warn("Atomic move not supported. Replace {} non-atomically.", file);
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private Properties getPositions() throws IOException {
+    @Nullable
+    Properties current = positions;
+
+    if (current == null) {
+      current = new Properties();
+
+      if (Files.exists(file)) {
+        try (InputStream in = Files.newInputStream(file)) {
+          current.load(in);
+        }
+      }
+
+      positions = current;
+    }
+
+    return current;
+  }
+}
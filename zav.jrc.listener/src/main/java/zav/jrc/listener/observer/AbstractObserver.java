@@ -17,10 +17,18 @@
 
 package zav.jrc.listener.observer;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import zav.jrc.client.FailedRequestException;
+import zav.jrc.listener.GenericEvent;
 import zav.jrc.listener.GenericListener;
 
 /**
@@ -32,6 +40,58 @@ import zav.jrc.listener.GenericListener;
 @NonNullByDefault
 public abstract class AbstractObserver<T> implements Observer<T> {
   private final Set<GenericListener<T>> listeners = new CopyOnWriteArraySet<>();
+  /**
+   * The executor on which the listeners are notified. If {@code null}, all
+   * listeners are notified sequentially on the calling thread.
+   */
+  @Nullable
+  private final Executor executor;
+  /**
+   * The overflow policy of the listener queues. If {@code null}, events are
+   * passed to the listeners directly.
+   */
+  @Nullable
+  private final OverflowPolicy policy;
+  private final int capacity;
+  private final Map<GenericListener<T>, ListenerQueue<T>> queues = new ConcurrentHashMap<>();
+
+  protected AbstractObserver() {
+    this(null);
+  }
+
+  /**
+   * Creates a new observer which notifies each listener as a separate task on the
+   * given executor. This is intended to be used with executors that create a new
+   * (virtual) thread per task, so that a slow listener doesn't delay the others.
+   *
+   * @param executor The executor on which the listeners are notified. May be
+   *                 {@code null}.
+   */
+  protected AbstractObserver(@Nullable Executor executor) {
+    this.executor = executor;
+    this.policy = null;
+    this.capacity = 0;
+  }
+
+  /**
+   * Creates a new observer which dispatches events to its listeners via
+   * individual, bounded queues. Each queue is processed on the given executor,
+   * so that a slow listener neither delays the other listeners nor the next
+   * poll. The events of each listener are still processed in order.
+   *
+   * @param executor The executor on which the listeners are notified.
+   * @param capacity The maximum number of events queued per listener.
+   * @param policy   The policy applied when a queue is full.
+   */
+  protected AbstractObserver(Executor executor, int capacity, OverflowPolicy policy) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+
+    this.executor = executor;
+    this.policy = policy;
+    this.capacity = capacity;
+  }
 
   @Override
   public boolean addListener(GenericListener<T> listener) {
@@ -40,9 +100,103 @@ public abstract class AbstractObserver<T> implements Observer<T> {
 
   @Override
   public boolean removeListener(GenericListener<T> listener) {
+    queues.remove(listener);
     return listeners.remove(listener);
   }
 
+  /**
+   * Passes the given elements to all registered listeners. Events are created
+   * once and shared by all listeners, which receive them in the order of the
+   * list.<br>
+   * If this observer uses listener queues, the events are only queued and this
+   * method returns without waiting for the listeners. Otherwise, the listeners
+   * are notified either on the calling thread or on the executor and this
+   * method returns, once all listeners have been notified.
+   *
+   * @param elements The elements passed to the listeners, in order.
+   * @return A future which is completed, once all listeners have processed these
+   *         and all previously dispatched elements. If the calling thread is
+   *         interrupted while waiting for a full queue, the future completes
+   *         exceptionally, as not all listeners have received the elements.
+   */
+  protected CompletableFuture<Void> dispatch(List<T> elements) {
+    if (elements.isEmpty()) {
+      return flush();
+    }
+
+    List<GenericEvent<T>> events = new ArrayList<>(elements.size());
+    elements.forEach(element -> events.add(new GenericEvent<>(element)));
+
+    @Nullable
+    OverflowPolicy currentPolicy = policy;
+    @Nullable
+    Executor currentExecutor = executor;
+
+    if (currentPolicy != null && currentExecutor != null) {
+      try {
+        enqueue(events, currentExecutor, currentPolicy);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return CompletableFuture.failedFuture(e);
+      }
+      return flush();
+    } else if (currentExecutor != null) {
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+      for (GenericListener<T> listener : listeners) {
+        futures.add(CompletableFuture.runAsync(() -> events.forEach(listener::notify),
+            currentExecutor));
+      }
+
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    } else {
+      for (GenericListener<T> listener : listeners) {
+        events.forEach(listener::notify);
+      }
+    }
+
+    return CompletableFuture.completedFuture(null);
+  }
+
+  /**
+   * Returns a future which is completed, once all queued events have been
+   * processed by the listeners. Without listener queues, the events have already
+   * been processed when {@link #dispatch(List)} returns.
+   *
+   * @return A future waiting for the listener queues.
+   */
+  private CompletableFuture<Void> flush() {
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+    for (ListenerQueue<T> queue : queues.values()) {
+      futures.add(queue.flush());
+    }
+
+    return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+  }
+
+  private void enqueue(List<GenericEvent<T>> events, Executor executor, OverflowPolicy policy)
+      throws InterruptedException {
+    for (GenericListener<T> listener : listeners) {
+      ListenerQueue<T> queue = queues.computeIfAbsent(listener,
+          key -> new ListenerQueue<>(key, executor, capacity, policy));
+
+      for (GenericEvent<T> event : events) {
+        queue.offer(event);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of events which have been discarded, because the queue
+   * of the corresponding listener was full.
+   *
+   * @return The number of discarded events over all listeners.
+   */
+  public long getDroppedEvents() {
+    return queues.values().stream().mapToLong(ListenerQueue::getDropped).sum();
+  }
+
   @Override
   public void notifyAllListeners() throws FailedRequestException {
     for (GenericListener<T> listener : listeners) {
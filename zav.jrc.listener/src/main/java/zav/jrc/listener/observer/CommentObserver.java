@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.observer;
+
+import java.util.concurrent.Executor;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import zav.jrc.client.Client;
+import zav.jrc.databind.CommentEntity;
+import zav.jrc.listener.GenericEvent;
+import zav.jrc.listener.GenericListener;
+import zav.jrc.listener.paginator.ArticleCommentPaginator;
+import zav.jrc.listener.paginator.CommentPaginator;
+import zav.jrc.listener.paginator.Paginator;
+
+/**
+ * The observer implementation for comments. Calling
+ * {@link #notifyListener(GenericListener)} or {@link #notifyAllListeners()}
+ * will call the respective {@link GenericListener#notify(GenericEvent)} methods
+ * of all registered listeners.<br>
+ * Comments are either observed over an entire subreddit via
+ * {@link CommentPaginator} or for a single submission via
+ * {@link ArticleCommentPaginator}.
+ */
+@NonNullByDefault
+public class CommentObserver extends ListingObserver<CommentEntity> {
+  public CommentObserver(Client client, String subreddit) {
+    super(new CommentPaginator(client, subreddit));
+  }
+
+  /**
+   * Creates a new observer which notifies its listeners on the given executor.
+   *
+   * @param client    The client used for requesting new comments.
+   * @param subreddit The name of the observed subreddit.
+   * @param executor  The executor on which the listeners are notified.
+   */
+  public CommentObserver(Client client, String subreddit, Executor executor) {
+    super(new CommentPaginator(client, subreddit), executor);
+  }
+
+  /**
+   * Creates a new observer which notifies each listener via its own bounded
+   * queue on the given executor.
+   *
+   * @param client    The client used for requesting new comments.
+   * @param subreddit The name of the observed subreddit.
+   * @param executor  The executor on which the listeners are notified.
+   * @param capacity  The maximum number of comments queued per listener.
+   * @param policy    The policy applied when a queue is full.
+   */
+  public CommentObserver(Client client, String subreddit, Executor executor, int capacity,
+      OverflowPolicy policy) {
+    super(new CommentPaginator(client, subreddit), executor, capacity, policy);
+  }
+
+  /**
+   * Creates a new observer over the comments returned by the given paginator,
+   * e.g. an {@link ArticleCommentPaginator}.
+   *
+   * @param requester The paginator used for requesting new comments.
+   */
+  public CommentObserver(Paginator<CommentEntity> requester) {
+    super(requester);
+  }
+
+  /**
+   * Creates a new observer over the comments returned by the given paginator,
+   * which notifies its listeners on the given executor.
+   *
+   * @param requester The paginator used for requesting new comments.
+   * @param executor  The executor on which the listeners are notified.
+   */
+  public CommentObserver(Paginator<CommentEntity> requester, Executor executor) {
+    super(requester, executor);
+  }
+
+  @Override
+  protected String getId(CommentEntity source) {
+    return source.getId();
+  }
+}
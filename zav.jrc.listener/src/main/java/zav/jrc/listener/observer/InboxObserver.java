@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.observer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zav.jrc.client.Client;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.databind.MessageEntity;
+import zav.jrc.listener.GenericEvent;
+import zav.jrc.listener.GenericListener;
+import zav.jrc.listener.paginator.IteratorException;
+import zav.jrc.listener.paginator.MessagePaginator;
+
+/**
+ * The observer implementation for the inbox of the account through which the
+ * client is logged in. Calling {@link #notifyListener(GenericListener)} or
+ * {@link #notifyAllListeners()} will call the respective
+ * {@link GenericListener#notify(GenericEvent)} methods of all registered
+ * listeners, starting with the oldest unread message first.<br>
+ * Once passed to the listeners, all new messages are marked as read with a
+ * single request. If the acknowledgement is rejected, the messages are
+ * acknowledged again by the next poll, without being delivered a second time.
+ */
+@NonNullByDefault
+public class InboxObserver extends AbstractObserver<MessageEntity> {
+  private static final Logger LOGGER = LoggerFactory.getLogger(InboxObserver.class);
+  /**
+   * Sorts messages from oldest to newest. Comments and messages use different
+   * ids, hence they are sorted by their creation date.
+   */
+  private static final Comparator<MessageEntity> CHRONOLOGICAL = Comparator
+      .comparing(MessageEntity::getCreatedUtc, Comparator.nullsFirst(Comparator.naturalOrder()))
+      .thenComparing(MessageEntity::getName, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+  private final MessagePaginator requester;
+
+  public InboxObserver(Client client) {
+    this.requester = new MessagePaginator(client);
+  }
+
+  /**
+   * Creates a new observer which notifies its listeners on the given executor.
+   *
+   * @param client   The client used for requesting new messages.
+   * @param executor The executor on which the listeners are notified.
+   */
+  public InboxObserver(Client client, Executor executor) {
+    super(executor);
+    this.requester = new MessagePaginator(client);
+  }
+
+  /**
+   * Creates a new observer which notifies each listener via its own bounded
+   * queue on the given executor. Messages are acknowledged once they have been
+   * processed by all listeners. Because acknowledged messages are never returned again, messages
+   * must not be dropped, i.e. only {@link OverflowPolicy#BLOCK} is supported.
+   *
+   * @param client   The client used for requesting new messages.
+   * @param executor The executor on which the listeners are notified.
+   * @param capacity The maximum number of messages queued per listener.
+   * @param policy   The policy applied when a queue is full.
+   * @throws IllegalArgumentException If the policy drops messages.
+   */
+  public InboxObserver(Client client, Executor executor, int capacity, OverflowPolicy policy) {
+    super(executor, capacity, requireLossless(policy));
+    this.requester = new MessagePaginator(client);
+  }
+
+  private static OverflowPolicy requireLossless(OverflowPolicy policy) {
+    if (policy != OverflowPolicy.BLOCK) {
+      throw new IllegalArgumentException("Messages can't be dropped, but policy is " + policy);
+    }
+
+    return policy;
+  }
+
+  @Override
+  public void notifyAllListeners() throws FailedRequestException {
+    CompletableFuture<Void> processed;
+
+    try {
+      // History is computed and sorted once for all listeners
+      processed = dispatch(sort(requester.next()));
+    } catch (IteratorException e) {
+      throw e.getCause();
+    }
+
+    // Only mark the messages as read once the listeners have processed them
+    if (!processed.isDone()) {
+      processed.thenRun(this::acknowledge);
+    } else if (!processed.isCompletedExceptionally()) {
+      requester.acknowledge();
+    }
+  }
+
+  /**
+   * Marks all processed messages as read. Called once the listeners have
+   * processed all messages on their executor. If rejected, the messages are
+   * acknowledged again by the next poll.
+   */
+  private void acknowledge() {
+    try {
+      requester.acknowledge();
+    } catch (FailedRequestException e) {
+      LOGGER.warn("Failed to mark messages as read.", e);
+    }
+  }
+
+  @Override
+  public void notifyListener(GenericListener<MessageEntity> listener)
+      throws FailedRequestException {
+    try {
+      sort(requester.next()).stream().map(GenericEvent::new).forEach(listener::notify);
+    } catch (IteratorException e) {
+      throw e.getCause();
+    }
+
+    requester.acknowledge();
+  }
+
+  private static List<MessageEntity> sort(List<MessageEntity> messages) {
+    List<MessageEntity> result = new ArrayList<>(messages);
+    result.sort(CHRONOLOGICAL);
+    return result;
+  }
+}
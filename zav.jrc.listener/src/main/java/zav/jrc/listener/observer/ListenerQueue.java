@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.observer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zav.jrc.listener.GenericEvent;
+import zav.jrc.listener.GenericListener;
+
+/**
+ * A bounded queue of events for a single listener. The events are passed to
+ * the listener on the executor, by at most one task at a time, so that the
+ * listener receives the events in the order in which they have been queued.
+ *
+ * @param <T> The type of the events.
+ */
+@NonNullByDefault
+final class ListenerQueue<T> implements Runnable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ListenerQueue.class);
+
+  private final Lock lock = new ReentrantLock();
+  private final Condition notFull = lock.newCondition();
+  private final Deque<GenericEvent<T>> events = new ArrayDeque<>();
+  private final GenericListener<T> listener;
+  private final Executor executor;
+  private final int capacity;
+  private final OverflowPolicy policy;
+  /**
+   * Indicates whether a task draining this queue has been submitted.
+   */
+  private boolean draining;
+  private long dropped;
+  /**
+   * The number of events which have been added to this queue.
+   */
+  private long queued;
+  /**
+   * The number of events which have been either processed or discarded.
+   */
+  private long completed;
+  /**
+   * Futures completed once the given number of events has been completed.
+   */
+  private final NavigableMap<Long, CompletableFuture<Void>> barriers = new TreeMap<>();
+
+  ListenerQueue(GenericListener<T> listener, Executor executor, int capacity,
+      OverflowPolicy policy) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+
+    this.listener = listener;
+    this.executor = executor;
+    this.capacity = capacity;
+    this.policy = policy;
+  }
+
+  /**
+   * Adds an event to the queue. If the queue is full, the event is handled
+   * according to the overflow policy.
+   *
+   * @param event The event passed to the listener.
+   * @throws InterruptedException If interrupted while waiting for the listener.
+   */
+  void offer(GenericEvent<T> event) throws InterruptedException {
+    boolean submit;
+
+    lock.lock();
+    try {
+      while (events.size() >= capacity) {
+        if (policy == OverflowPolicy.BLOCK) {
+          notFull.await();
+        } else if (policy == OverflowPolicy.DROP_OLDEST) {
+          events.poll();
+          dropped++;
+          completed++;
+        } else {
+          dropped++;
+          return;
+        }
+      }
+
+      events.add(event);
+      queued++;
+      submit = !draining;
+      draining = true;
+    } finally {
+      lock.unlock();
+    }
+
+    if (submit) {
+      try {
+        executor.execute(this);
+      } catch (RuntimeException | Error e) {
+        // Allow the next event to submit a new task
+        stop();
+        throw e;
+      }
+    }
+  }
+
+  @Override
+  public void run() {
+    while (true) {
+      @Nullable
+      GenericEvent<T> event;
+
+      lock.lock();
+      try {
+        event = events.poll();
+
+        if (event == null) {
+          draining = false;
+          return;
+        }
+
+        notFull.signal();
+      } finally {
+        lock.unlock();
+      }
+
+      try {
+        listener.notify(event);
+      } catch (RuntimeException e) {
+        LOGGER.error("Listener {} failed to process {}.", listener, event, e);
+      } catch (Error e) {
+        // The remaining events are drained by the task submitted with the next event
+        stop();
+        throw e;
+      } finally {
+        complete();
+      }
+    }
+  }
+
+  /**
+   * Returns a future which is completed, once all events which are currently in
+   * this queue have been passed to the listener or have been discarded.
+   *
+   * @return A future waiting for the listener.
+   */
+  CompletableFuture<Void> flush() {
+    lock.lock();
+    try {
+      if (completed >= queued) {
+        return CompletableFuture.completedFuture(null);
+      }
+
+      return barriers.computeIfAbsent(queued, key -> new CompletableFuture<>());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Indicates that no task is draining this queue anymore, so that a new task is
+   * submitted with the next event.
+   */
+  private void stop() {
+    lock.lock();
+    try {
+      draining = false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Marks the oldest event as completed and releases all futures waiting for it.
+   */
+  private void complete() {
+    List<CompletableFuture<Void>> released;
+
+    lock.lock();
+    try {
+      completed++;
+
+      Map<Long, CompletableFuture<Void>> reached = barriers.headMap(completed, true);
+      released = new ArrayList<>(reached.values());
+      reached.clear();
+    } finally {
+      lock.unlock();
+    }
+
+    released.forEach(future -> future.complete(null));
+  }
+
+  /**
+   * Returns the number of events which have been discarded.
+   *
+   * @return The number of discarded events.
+   */
+  long getDropped() {
+    lock.lock();
+    try {
+      return dropped;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
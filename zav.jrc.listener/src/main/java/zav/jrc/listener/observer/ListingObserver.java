@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.observer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.databind.Identifiers;
+import zav.jrc.listener.checkpoint.CheckpointStore;
+import zav.jrc.listener.GenericEvent;
+import zav.jrc.listener.GenericListener;
+import zav.jrc.listener.paginator.IteratorException;
+import zav.jrc.listener.paginator.Paginator;
+
+/**
+ * Base class for observers, which retrieve new Things via a {@link Paginator}.
+ * Calling {@link #notifyListener(GenericListener)} or
+ * {@link #notifyAllListeners()} will call the respective
+ * {@link GenericListener#notify(GenericEvent)} methods of all registered
+ * listeners, starting with the oldest Thing first.
+ *
+ * @param <T> The type of the observed Things.
+ */
+@NonNullByDefault
+public abstract class ListingObserver<T> extends AbstractObserver<T> {
+  private final Paginator<T> requester;
+  @Nullable
+  private Duration minInterval;
+  @Nullable
+  private Duration maxInterval;
+  private long nextPoll;
+
+  protected ListingObserver(Paginator<T> requester) {
+    this.requester = requester;
+  }
+
+  /**
+   * Creates a new observer which notifies its listeners on the given executor.
+   *
+   * @param requester The paginator used for requesting new Things.
+   * @param executor  The executor on which the listeners are notified.
+   */
+  protected ListingObserver(Paginator<T> requester, Executor executor) {
+    super(executor);
+    this.requester = requester;
+  }
+
+  /**
+   * Creates a new observer which notifies each listener via its own bounded
+   * queue on the given executor.
+   *
+   * @param requester The paginator used for requesting new Things.
+   * @param executor  The executor on which the listeners are notified.
+   * @param capacity  The maximum number of Things queued per listener.
+   * @param policy    The policy applied when a queue is full.
+   */
+  protected ListingObserver(Paginator<T> requester, Executor executor, int capacity,
+      OverflowPolicy policy) {
+    super(executor, capacity, policy);
+    this.requester = requester;
+  }
+
+  /**
+   * Enables adaptive polling. New Things are requested incrementally and the
+   * time between two polls is adapted to the observed arrival rate. Calls to
+   * {@link #notifyAllListeners()} before the next poll is due return
+   * immediately, without performing any request. Idle listings are therefore
+   * only polled once per {@code max}.
+   *
+   * @param min The minimum time between two polls.
+   * @param max The maximum time between two polls.
+   */
+  public void setAdaptivePolling(Duration min, Duration max) {
+    this.minInterval = min;
+    this.maxInterval = max;
+    this.nextPoll = System.nanoTime();
+    this.requester.setIncremental(true);
+  }
+
+  /**
+   * Persists the position of this observer in the given store. If the store
+   * already contains a position for the given key, the observer resumes from
+   * there and the first poll returns all Things created in the meantime.
+   *
+   * @param checkpoints The store containing the persisted positions.
+   * @param key         The key under which the position of this observer is
+   *                    stored.
+   * @see Paginator#setCheckpoint(CheckpointStore, String)
+   */
+  public void setCheckpoint(CheckpointStore checkpoints, String key) {
+    this.requester.setCheckpoint(checkpoints, key);
+  }
+
+  /**
+   * Enables the deduplication of observed Things. Things which appear late in the
+   * listing are then still passed to the listeners, while no Thing is passed
+   * twice.
+   *
+   * @param capacity The number of ids remembered by this observer.
+   * @see Paginator#setDeduplication(int)
+   */
+  public void setDeduplication(int capacity) {
+    this.requester.setDeduplication(capacity);
+  }
+
+  /**
+   * Checks whether the listing should be polled. This is always the case,
+   * unless adaptive polling is enabled.
+   *
+   * @return {@code true}, if the next poll is due.
+   */
+  public boolean isDue() {
+    return minInterval == null || System.nanoTime() - nextPoll >= 0;
+  }
+
+  @Override
+  public void notifyAllListeners() throws FailedRequestException {
+    if (!isDue()) {
+      return;
+    }
+
+    try {
+      // History is computed and sorted once for all listeners
+      List<T> history = sort(requester.next());
+      @Nullable
+      String head = requester.getHead();
+      schedule();
+      CompletableFuture<Void> processed = dispatch(history);
+
+      // Only persist the head once the listeners have processed all Things
+      if (head != null) {
+        processed.thenRun(() -> requester.checkpoint(head));
+      }
+    } catch (IteratorException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Computes the time of the next poll, based on the estimated arrival rate.
+   */
+  private void schedule() {
+    @Nullable
+    Duration min = minInterval;
+    @Nullable
+    Duration max = maxInterval;
+
+    if (min != null && max != null) {
+      Duration interval = requester.getEstimator().getInterval(min, max);
+      nextPoll = System.nanoTime() + interval.toNanos();
+    }
+  }
+
+  @Override
+  public void notifyListener(GenericListener<T> listener) throws FailedRequestException {
+    try {
+      sort(requester.next()).stream().map(GenericEvent::new).forEach(listener::notify);
+
+      @Nullable
+      String head = requester.getHead();
+
+      if (head != null) {
+        requester.checkpoint(head);
+      }
+    } catch (IteratorException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Sorts the Things, starting with the oldest Thing first.
+   *
+   * @param things The Things returned by the paginator.
+   * @return A sorted copy of the Things.
+   */
+  private List<T> sort(List<T> things) {
+    List<T> result = new ArrayList<>(things);
+    result.sort(Identifiers.comparing(this::getId));
+    return result;
+  }
+
+  /**
+   * Returns the base-36 id of the given Thing.
+   *
+   * @param source One of the observed Things.
+   * @return The id of the Thing.
+   */
+  protected abstract String getId(T source);
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.observer;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zav.jrc.client.Client;
+import zav.jrc.databind.CommentEntity;
+import zav.jrc.databind.Identifiers;
+import zav.jrc.databind.LinkEntity;
+import zav.jrc.listener.paginator.CommentPaginator;
+import zav.jrc.listener.paginator.IteratorException;
+import zav.jrc.listener.paginator.LinkPaginator;
+import zav.jrc.listener.paginator.Paginator;
+
+/**
+ * A {@link Flow.Publisher} over the Things returned by a {@link Paginator}.
+ * Unlike observers, which push every new Thing to their listeners, Things are
+ * only requested while subscribers signal demand. A subscriber which can't keep
+ * up therefore pauses the polling, instead of having Things queue up in
+ * memory.<br>
+ * Each subscriber receives its own paginator, i.e. its own position within the
+ * listing. Things are emitted starting with the oldest Thing first. At most one
+ * poll is buffered per subscriber and consecutive polls are at least
+ * {@code interval} apart. The stream never completes on its own, but
+ * terminates with {@link Flow.Subscriber#onError(Throwable)}, if a request is
+ * rejected.
+ *
+ * @param <T> The type of the published Things.
+ */
+@NonNullByDefault
+public class ListingPublisher<T> implements Flow.Publisher<T> {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ListingPublisher.class);
+
+  private final Supplier<? extends Paginator<T>> paginators;
+  private final Function<T, String> id;
+  private final ScheduledExecutorService scheduler;
+  private final long interval;
+
+  /**
+   * Creates a new publisher over the Things returned by the paginators.
+   *
+   * @param paginators Creates a new paginator for each subscriber.
+   * @param id         Returns the id of a Thing, used to sort each poll.
+   * @param scheduler  The executor on which the paginators are polled and the
+   *                   subscribers are notified.
+   * @param interval   The minimum time between two polls of the same subscriber.
+   */
+  public ListingPublisher(Supplier<? extends Paginator<T>> paginators, Function<T, String> id,
+      ScheduledExecutorService scheduler, Duration interval) {
+    this.paginators = paginators;
+    this.id = id;
+    this.scheduler = scheduler;
+    this.interval = interval.toNanos();
+  }
+
+  /**
+   * Creates a new publisher over the submissions of the given subreddit.
+   *
+   * @param client    The client used for requesting new submissions.
+   * @param subreddit The name of the observed subreddit.
+   * @param scheduler The executor on which the subreddit is polled.
+   * @param interval  The minimum time between two polls.
+   * @return A publisher over all new submissions.
+   */
+  public static ListingPublisher<LinkEntity> ofSubreddit(Client client, String subreddit,
+      ScheduledExecutorService scheduler, Duration interval) {
+    return new ListingPublisher<>(() -> new LinkPaginator(client, subreddit), LinkEntity::getId,
+        scheduler, interval);
+  }
+
+  /**
+   * Creates a new publisher over the comments of the given subreddit.
+   *
+   * @param client    The client used for requesting new comments.
+   * @param subreddit The name of the observed subreddit.
+   * @param scheduler The executor on which the subreddit is polled.
+   * @param interval  The minimum time between two polls.
+   * @return A publisher over all new comments.
+   */
+  public static ListingPublisher<CommentEntity> ofComments(Client client, String subreddit,
+      ScheduledExecutorService scheduler, Duration interval) {
+    return new ListingPublisher<>(() -> new CommentPaginator(client, subreddit),
+        CommentEntity::getId, scheduler, interval);
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super T> subscriber) {
+    ListingSubscription subscription = new ListingSubscription(subscriber, paginators.get());
+    subscriber.onSubscribe(subscription);
+  }
+
+  /**
+   * The state of a single subscriber. All signals to the subscriber are emitted
+   * by the drain loop, which is executed by at most one thread at a time.
+   */
+  private final class ListingSubscription implements Flow.Subscription {
+    private final Flow.Subscriber<? super T> subscriber;
+    private final Paginator<T> paginator;
+    private final AtomicLong demand = new AtomicLong();
+    /**
+     * The number of pending calls to {@link #drain()}. Only the caller which
+     * increments it from zero executes the drain loop.
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Deque<T> buffer = new ArrayDeque<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean cancelled;
+    @Nullable
+    private volatile Throwable failure;
+    // Only accessed by the drain loop
+    private long nextPoll = System.nanoTime();
+
+    private ListingSubscription(Flow.Subscriber<? super T> subscriber, Paginator<T> paginator) {
+      this.subscriber = subscriber;
+      this.paginator = paginator;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        failure = new IllegalArgumentException("Demand must be positive: " + n);
+      } else {
+        demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+      }
+
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+    }
+
+    private void drain() {
+      if (pending.getAndIncrement() != 0) {
+        return;
+      }
+
+      try {
+        scheduler.execute(this::run);
+      } catch (RejectedExecutionException e) {
+        LOGGER.error("Unable to poll {}.", paginator, e);
+        cancelled = true;
+      }
+    }
+
+    private void run() {
+      int missed = 1;
+
+      do {
+        emit();
+        missed = pending.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void emit() {
+      while (!cancelled) {
+        @Nullable
+        Throwable currentFailure = failure;
+
+        if (currentFailure != null) {
+          cancelled = true;
+          buffer.clear();
+          subscriber.onError(currentFailure);
+          return;
+        }
+
+        if (demand.get() == 0) {
+          return;
+        }
+
+        if (buffer.isEmpty() && !poll()) {
+          // Rejected requests are signaled immediately
+          if (failure == null) {
+            return;
+          }
+          continue;
+        }
+
+        demand.decrementAndGet();
+        subscriber.onNext(buffer.poll());
+      }
+
+      buffer.clear();
+    }
+
+    /**
+     * Requests the next Things from the paginator, if the next poll is due.
+     * Otherwise, the drain loop is scheduled for when it is.
+     *
+     * @return {@code true}, if new Things have been added to the buffer.
+     */
+    private boolean poll() {
+      long delay = nextPoll - System.nanoTime();
+
+      if (delay > 0) {
+        schedule(delay);
+        return false;
+      }
+
+      nextPoll = System.nanoTime() + interval;
+
+      try {
+        List<T> result = new ArrayList<>(paginator.next());
+        result.sort(Identifiers.comparing(id));
+        buffer.addAll(result);
+      } catch (IteratorException e) {
+        failure = e.getCause();
+        return false;
+      }
+
+      if (buffer.isEmpty()) {
+        schedule(interval);
+        return false;
+      }
+
+      return true;
+    }
+
+    private void schedule(long delay) {
+      if (!scheduled.compareAndSet(false, true)) {
+        return;
+      }
+
+      try {
+        scheduler.schedule(() -> {
+          scheduled.set(false);
+          drain();
+        }, delay, TimeUnit.NANOSECONDS);
+      } catch (RejectedExecutionException e) {
+        LOGGER.error("Unable to poll {}.", paginator, e);
+        cancelled = true;
+      }
+    }
+  }
+}
@@ -0,0 +1,578 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.observer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zav.jrc.client.Client;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.databind.Identifiers;
+import zav.jrc.databind.LinkEntity;
+import zav.jrc.listener.GenericEvent;
+import zav.jrc.listener.GenericListener;
+import zav.jrc.listener.checkpoint.CheckpointStore;
+import zav.jrc.listener.paginator.IteratorException;
+import zav.jrc.listener.paginator.LinkPaginator;
+
+/**
+ * The observer implementation for many subreddits at once. Instead of polling
+ * each subreddit individually, the subreddits are packed into combined
+ * {@code r/a+b+c/new} requests. A single request therefore covers as many
+ * subreddits as fit into the URL.<br>
+ * Each subreddit keeps its own head, so that subreddits may be added or removed
+ * at any time. The links of a combined listing are demultiplexed via
+ * {@link LinkEntity#getSubreddit()} and only passed to the listeners of the
+ * corresponding subreddit, starting with the oldest link first.<br>
+ * Listeners registered via {@link #addListener(GenericListener)} receive the
+ * links of all observed subreddits. A subreddit is only observed, as long as it
+ * has at least one listener of its own.
+ */
+@NonNullByDefault
+public class MultiSubredditObserver implements Observer<LinkEntity> {
+  /**
+   * The default maximum length of the combined subreddit names. URLs longer
+   * than roughly 2000 characters may be rejected, which leaves enough room for
+   * the host, the endpoint and the query parameters.
+   */
+  public static final int DEFAULT_MAX_LENGTH = 1900;
+  private static final String SEPARATOR = "+";
+  private static final Logger LOGGER = LoggerFactory.getLogger(MultiSubredditObserver.class);
+
+  /**
+   * All observed subreddits, sorted by name, so that the batches remain stable
+   * in between polls.
+   */
+  private final NavigableMap<String, Subscription> subscriptions = new ConcurrentSkipListMap<>();
+  private final Client client;
+  @Nullable
+  private final Executor executor;
+  @Nullable
+  private final OverflowPolicy policy;
+  private final int capacity;
+  /**
+   * The listeners of all observed subreddits.
+   */
+  private final Broadcast broadcast;
+  private volatile int maxLength = DEFAULT_MAX_LENGTH;
+  @Nullable
+  private volatile CheckpointStore checkpoints;
+
+  public MultiSubredditObserver(Client client) {
+    this(client, null);
+  }
+
+  /**
+   * Creates a new observer which notifies its listeners on the given executor.
+   *
+   * @param client   The client used for requesting new submissions.
+   * @param executor The executor on which the listeners are notified. May be
+   *                 {@code null}.
+   */
+  public MultiSubredditObserver(Client client, @Nullable Executor executor) {
+    this.client = client;
+    this.executor = executor;
+    this.policy = null;
+    this.capacity = 0;
+    this.broadcast = new Broadcast(executor);
+  }
+
+  /**
+   * Creates a new observer which notifies each listener via its own bounded
+   * queue on the given executor.
+   *
+   * @param client   The client used for requesting new submissions.
+   * @param executor The executor on which the listeners are notified.
+   * @param capacity The maximum number of links queued per listener.
+   * @param policy   The policy applied when a queue is full.
+   * @see SubredditObserver#SubredditObserver(Client, String, Executor, int,
+   *      OverflowPolicy)
+   */
+  public MultiSubredditObserver(Client client, Executor executor, int capacity,
+      OverflowPolicy policy) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+
+    this.client = client;
+    this.executor = executor;
+    this.policy = policy;
+    this.capacity = capacity;
+    this.broadcast = new Broadcast(executor, capacity, policy);
+  }
+
+  /**
+   * Sets the maximum length of the combined subreddit names within a single
+   * request.
+   *
+   * @param maxLength The maximum number of characters.
+   */
+  public void setMaxLength(int maxLength) {
+    this.maxLength = maxLength;
+  }
+
+  /**
+   * Persists the head of every subreddit in the given store, using the lowercase
+   * subreddit name as key. Subreddits with a persisted head resume from there,
+   * i.e. their first poll returns all links created in the meantime.
+   *
+   * @param checkpoints The store containing the persisted heads.
+   */
+  public void setCheckpoint(CheckpointStore checkpoints) {
+    this.checkpoints = checkpoints;
+  }
+
+  /**
+   * Registers a listener for new submissions in all observed subreddits.
+   *
+   * @param listener The listener which is notified.
+   * @return {@code true}, if the listener wasn't registered before.
+   */
+  @Override
+  public boolean addListener(GenericListener<LinkEntity> listener) {
+    return broadcast.addListener(listener);
+  }
+
+  /**
+   * Removes a listener which has been registered for all observed subreddits.
+   *
+   * @param listener The listener which is removed.
+   * @return {@code true}, if the listener was registered before.
+   */
+  @Override
+  public boolean removeListener(GenericListener<LinkEntity> listener) {
+    return broadcast.removeListener(listener);
+  }
+
+  /**
+   * Registers a listener for new submissions in the given subreddit.
+   *
+   * @param subreddit The name of the observed subreddit.
+   * @param listener  The listener which is notified.
+   * @return {@code true}, if the listener wasn't registered for this subreddit.
+   */
+  public boolean addListener(String subreddit, GenericListener<LinkEntity> listener) {
+    return subscriptions.computeIfAbsent(key(subreddit), this::subscribe).addListener(listener);
+  }
+
+  /**
+   * Removes a listener from the given subreddit. Subreddits without listeners
+   * are no longer polled.
+   *
+   * @param subreddit The name of the observed subreddit.
+   * @param listener  The listener which is removed.
+   * @return {@code true}, if the listener was registered for this subreddit.
+   */
+  public boolean removeListener(String subreddit, GenericListener<LinkEntity> listener) {
+    @Nullable
+    Subscription subscription = subscriptions.get(key(subreddit));
+
+    if (subscription == null || !subscription.removeListener(listener)) {
+      return false;
+    }
+
+    if (subscription.size() == 0) {
+      subscriptions.remove(subscription.name, subscription);
+    }
+
+    return true;
+  }
+
+  /**
+   * Polls all observed subreddits and notifies the corresponding listeners. In
+   * case a single request is rejected, the remaining batches are still polled
+   * and the first exception is thrown afterwards.
+   *
+   * @throws FailedRequestException If one of the API requests was rejected.
+   */
+  @Override
+  public void notifyAllListeners() throws FailedRequestException {
+    pollAll(batch -> {
+      CompletableFuture<Void> shared = broadcast.dispatch(merge(batch));
+
+      for (Subscription subscription : batch) {
+        subscription.notifyAllListeners(shared);
+      }
+    });
+  }
+
+  /**
+   * Polls all observed subreddits and only notifies the given listener about
+   * the links of all subreddits.
+   *
+   * @param listener The listener which is notified.
+   * @throws FailedRequestException If one of the API requests was rejected.
+   * @see #notifyAllListeners()
+   */
+  @Override
+  public void notifyListener(GenericListener<LinkEntity> listener)
+      throws FailedRequestException {
+    pollAll(batch -> {
+      merge(batch).stream().map(GenericEvent::new).forEach(listener::notify);
+
+      for (Subscription subscription : batch) {
+        @Nullable
+        String current = subscription.head;
+
+        if (current != null) {
+          subscription.checkpoint(current);
+        }
+      }
+    });
+  }
+
+  /**
+   * Polls all batches of subreddits and passes each polled batch to the given
+   * consumer. In case a single request is rejected, the remaining batches are
+   * still polled and the first exception is thrown afterwards.
+   *
+   * @param notifier Notifies the listeners of a polled batch.
+   * @throws FailedRequestException If one of the API requests was rejected.
+   */
+  private void pollAll(Consumer<List<Subscription>> notifier) throws FailedRequestException {
+    @Nullable
+    FailedRequestException failure = null;
+
+    for (List<Subscription> batch : getBatches()) {
+      try {
+        poll(batch);
+        notifier.accept(batch);
+      } catch (FailedRequestException e) {
+        failure = failure == null ? e : failure;
+      } finally {
+        batch.forEach(subscription -> subscription.history = null);
+      }
+    }
+
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Combines the new links of all subreddits in the given batch.
+   *
+   * @param batch The subreddits which have been polled together.
+   * @return The new links, starting with the oldest link first.
+   */
+  private static List<LinkEntity> merge(List<Subscription> batch) {
+    List<LinkEntity> result = new ArrayList<>();
+    batch.forEach(subscription -> result.addAll(subscription.sorted()));
+    result.sort(Identifiers.comparing(LinkEntity::getId));
+    return result;
+  }
+
+  /**
+   * Returns the total number of registered listeners.
+   *
+   * @return The number of listeners over all subreddits.
+   */
+  @Override
+  public int size() {
+    return broadcast.size()
+        + subscriptions.values().stream().mapToInt(Subscription::size).sum();
+  }
+
+  /**
+   * Packs the observed subreddits into batches, such that the combined names of
+   * each batch don't exceed the maximum length.
+   *
+   * @return The subreddits which are polled together.
+   */
+  List<List<Subscription>> getBatches() {
+    List<List<Subscription>> result = new ArrayList<>();
+    List<Subscription> batch = new ArrayList<>();
+    int length = 0;
+
+    for (Subscription subscription : subscriptions.values()) {
+      int extra = batch.isEmpty() ? subscription.name.length()
+          : subscription.name.length() + SEPARATOR.length();
+
+      if (!batch.isEmpty() && length + extra > maxLength) {
+        result.add(batch);
+        batch = new ArrayList<>();
+        extra = subscription.name.length();
+        length = 0;
+      }
+
+      batch.add(subscription);
+      length += extra;
+    }
+
+    if (!batch.isEmpty()) {
+      result.add(batch);
+    }
+
+    return result;
+  }
+
+  /**
+   * Requests all new links of the given subreddits with a combined request and
+   * assigns them to their subreddits.
+   *
+   * @param batch The subreddits which are polled together.
+   * @throws FailedRequestException If the API request was rejected.
+   */
+  private void poll(List<Subscription> batch) throws FailedRequestException {
+    Map<String, Subscription> subreddits = new HashMap<>();
+    List<String> names = new ArrayList<>();
+    @Nullable
+    String oldest = null;
+
+    for (Subscription subscription : batch) {
+      subscription.restore();
+
+      @Nullable
+      String head = subscription.head;
+
+      if (head != null && (oldest == null || Identifiers.compare(head, oldest) < 0)) {
+        oldest = head;
+      }
+
+      subscription.history = new ArrayList<>();
+      subreddits.put(subscription.name, subscription);
+      names.add(subscription.name);
+    }
+
+    // Walk the combined listing until all subreddits have reached their head
+    LinkPaginator requester = new LinkPaginator(client, String.join(SEPARATOR, names));
+    requester.setHead(oldest);
+
+    try {
+      for (LinkEntity link : requester.next()) {
+        @Nullable
+        Subscription subscription = subreddits.get(key(link.getSubreddit()));
+
+        if (subscription != null && subscription.isNewer(link)) {
+          subscription.add(link);
+        }
+      }
+    } catch (IteratorException e) {
+      throw e.getCause();
+    }
+
+    // Links in a combined listing are complete for all of its subreddits.
+    // Advance all heads, so that quiet subreddits don't delay the next walk.
+    @Nullable
+    String newest = requester.getHead();
+
+    if (newest != null) {
+      batch.forEach(subscription -> subscription.advance(newest));
+    }
+
+  }
+
+  private Subscription subscribe(String name) {
+    @Nullable
+    OverflowPolicy currentPolicy = policy;
+    @Nullable
+    Executor currentExecutor = executor;
+
+    if (currentPolicy != null && currentExecutor != null) {
+      return new Subscription(name, currentExecutor, capacity, currentPolicy);
+    }
+
+    return new Subscription(name, currentExecutor);
+  }
+
+  private static String key(String subreddit) {
+    return subreddit.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * The listeners and the head of a single subreddit.
+   */
+  final class Subscription extends AbstractObserver<LinkEntity> {
+    private final String name;
+    @Nullable
+    private volatile String head;
+    @Nullable
+    private List<LinkEntity> history;
+    private boolean restored;
+
+    private Subscription(String name, @Nullable Executor executor) {
+      super(executor);
+      this.name = name;
+    }
+
+    private Subscription(String name, Executor executor, int capacity, OverflowPolicy policy) {
+      super(executor, capacity, policy);
+      this.name = name;
+    }
+
+    private boolean isNewer(LinkEntity link) {
+      // Subreddits without head have just been added and are only initialized
+      @Nullable
+      String current = head;
+      return current != null && Identifiers.compare(link.getId(), current) > 0;
+    }
+
+    private void add(LinkEntity link) {
+      @Nullable
+      List<LinkEntity> current = history;
+      if (current != null) {
+        current.add(link);
+      }
+    }
+
+    /**
+     * Restores the head from the checkpoint store, if the subreddit hasn't been
+     * initialized yet.
+     */
+    private void restore() {
+      @Nullable
+      CheckpointStore store = checkpoints;
+
+      if (store == null || head != null || restored) {
+        return;
+      }
+
+      restored = true;
+
+      try {
+        store.load(name).ifPresent(this::advance);
+      } catch (IOException e) {
+        LOGGER.warn("Unable to restore the head of {}.", name, e);
+      }
+    }
+
+    /**
+     * Persists the given head, if a checkpoint store has been set.
+     *
+     * @param current The head up to which all links have been processed.
+     */
+    private void checkpoint(String current) {
+      @Nullable
+      CheckpointStore store = checkpoints;
+
+      if (store == null) {
+        return;
+      }
+
+      try {
+        store.store(name, current);
+      } catch (IOException e) {
+        LOGGER.warn("Unable to persist the head of {}.", name, e);
+      }
+    }
+
+    private void advance(String newest) {
+      @Nullable
+      String current = head;
+      if (current == null || Identifiers.compare(newest, current) > 0) {
+        head = newest;
+      }
+    }
+
+    String getName() {
+      return name;
+    }
+
+    @Nullable
+    String getHead() {
+      return head;
+    }
+
+    @Override
+    public void notifyAllListeners() {
+      notifyAllListeners(CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Notifies the listeners of this subreddit. The head is only persisted once
+     * these listeners and the listeners of all subreddits have processed the
+     * links.
+     *
+     * @param shared Completed once the listeners of all subreddits have
+     *               processed the links.
+     */
+    private void notifyAllListeners(CompletableFuture<Void> shared) {
+      @Nullable
+      String current = head;
+      // Sort the links once for all listeners
+      CompletableFuture<Void> processed = dispatch(sorted());
+
+      // Only persist the head once the listeners have processed all links
+      if (current != null) {
+        CompletableFuture.allOf(processed, shared).thenRun(() -> checkpoint(current));
+      }
+    }
+
+    @Override
+    public void notifyListener(GenericListener<LinkEntity> listener) {
+      sorted().stream().map(GenericEvent::new).forEach(listener::notify);
+
+      @Nullable
+      String current = head;
+
+      if (current != null) {
+        checkpoint(current);
+      }
+    }
+
+    private List<LinkEntity> sorted() {
+      @Nullable
+      List<LinkEntity> current = history;
+
+      if (current == null) {
+        return List.of();
+      }
+
+      // Notify the listeners starting with the oldest link first
+      List<LinkEntity> result = new ArrayList<>(current);
+      result.sort(Identifiers.comparing(LinkEntity::getId));
+      return result;
+    }
+  }
+
+  /**
+   * The listeners which are notified about the links of all subreddits.
+   */
+  private final class Broadcast extends AbstractObserver<LinkEntity> {
+    private Broadcast(@Nullable Executor executor) {
+      super(executor);
+    }
+
+    private Broadcast(Executor executor, int capacity, OverflowPolicy policy) {
+      super(executor, capacity, policy);
+    }
+
+    @Override
+    public void notifyAllListeners() throws FailedRequestException {
+      MultiSubredditObserver.this.notifyAllListeners();
+    }
+
+    @Override
+    public void notifyListener(GenericListener<LinkEntity> listener)
+        throws FailedRequestException {
+      MultiSubredditObserver.this.notifyListener(listener);
+    }
+  }
+}
@@ -17,6 +17,9 @@
 
 package zav.jrc.listener.observer;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import zav.jrc.client.FailedRequestException;
 import zav.jrc.listener.GenericListener;
@@ -37,5 +40,24 @@ public interface Observer<T> {
 
   void notifyAllListeners() throws FailedRequestException;
 
+  /**
+   * Asynchronous variant of {@link #notifyAllListeners()}. The observer is
+   * polled on the given executor, instead of the calling thread. In case the
+   * request was rejected, the returned future completes exceptionally with a
+   * {@link FailedRequestException}.
+   *
+   * @param executor The executor on which the observer is polled.
+   * @return A future that completes once all listeners have been notified.
+   */
+  default CompletableFuture<Void> notifyAllListenersAsync(Executor executor) {
+    return CompletableFuture.runAsync(() -> {
+      try {
+        notifyAllListeners();
+      } catch (FailedRequestException e) {
+        throw new CompletionException(e);
+      }
+    }, executor);
+  }
+
   int size();
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.observer;
+
+/**
+ * Determines how events are handled, which are dispatched to a listener whose
+ * queue is full.
+ */
+public enum OverflowPolicy {
+  /**
+   * Blocks the observer until the listener has processed enough events. No
+   * events are lost, but a slow listener delays the next poll.
+   */
+  BLOCK,
+  /**
+   * Discards the oldest queued event, in favor of the new event.
+   */
+  DROP_OLDEST,
+  /**
+   * Discards the new event.
+   */
+  DROP_NEWEST
+}
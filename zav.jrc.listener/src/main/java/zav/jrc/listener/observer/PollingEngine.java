@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.observer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.client.http.HttpException;
+
+/**
+ * Periodically polls a set of observers, by calling
+ * {@link Observer#notifyAllListeners()}.<br>
+ * Each observer is polled with its own interval. In order to avoid bursts when
+ * many observers are scheduled at once, the first poll is delayed by a random
+ * fraction of the interval and every poll is additionally delayed by a random
+ * jitter.<br>
+ * A tick is skipped, if the previous poll of the same observer is still
+ * running. Failed polls cause the observer to back off: Rate limits
+ * ({@code 429}), server errors ({@code 5xx}) and I/O errors double the delay
+ * with every consecutive failure, while all other rejections immediately use
+ * the maximum delay.
+ */
+@NonNullByDefault
+public class PollingEngine implements AutoCloseable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(PollingEngine.class);
+  private static final int TOO_MANY_REQUESTS = 429;
+  private static final int INTERNAL_SERVER_ERROR = 500;
+  /**
+   * The maximum delay after a failed poll is {@code 2^6 = 64} intervals.
+   */
+  private static final int MAX_BACKOFF_EXPONENT = 6;
+
+  private final Map<Observer<?>, Task> tasks = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler;
+  private final Executor executor;
+
+  /**
+   * Creates a new engine, which polls the observers on the given scheduler.
+   *
+   * @param scheduler The scheduler used for both timing and polling.
+   */
+  public PollingEngine(ScheduledExecutorService scheduler) {
+    this(scheduler, scheduler);
+  }
+
+  /**
+   * Creates a new engine, which uses the scheduler only for timing and polls the
+   * observers on the given executor.
+   *
+   * @param scheduler The scheduler used for timing the polls.
+   * @param executor  The executor on which the observers are polled.
+   */
+  public PollingEngine(ScheduledExecutorService scheduler, Executor executor) {
+    this.scheduler = scheduler;
+    this.executor = executor;
+  }
+
+  /**
+   * Starts polling the given observer.
+   *
+   * @param observer The observer to be polled.
+   * @param interval The time between two polls.
+   * @param jitter   The maximum random delay added to each poll.
+   * @return The statistics of the scheduled observer.
+   * @throws IllegalArgumentException If the observer has already been scheduled
+   *                                  or the interval is not positive.
+   */
+  public Statistics schedule(Observer<?> observer, Duration interval, Duration jitter) {
+    if (interval.isNegative() || interval.isZero()) {
+      throw new IllegalArgumentException("Interval must be positive: " + interval);
+    }
+
+    Task task = new Task(observer, interval.toNanos(), Math.max(0, jitter.toNanos()));
+
+    if (tasks.putIfAbsent(observer, task) != null) {
+      throw new IllegalArgumentException("Observer has already been scheduled: " + observer);
+    }
+
+    task.start();
+    return task.statistics;
+  }
+
+  /**
+   * Stops polling the given observer. A poll which is currently running is not
+   * interrupted.
+   *
+   * @param observer The observer to be removed.
+   * @return {@code true}, if the observer was scheduled.
+   */
+  public boolean cancel(Observer<?> observer) {
+    @Nullable
+    Task task = tasks.remove(observer);
+
+    if (task == null) {
+      return false;
+    }
+
+    task.cancel();
+    return true;
+  }
+
+  /**
+   * Returns the statistics of a scheduled observer.
+   *
+   * @param observer The scheduled observer.
+   * @return The statistics of the observer or {@code null}, if the observer
+   *         hasn't been scheduled.
+   */
+  public @Nullable Statistics getStatistics(Observer<?> observer) {
+    @Nullable
+    Task task = tasks.get(observer);
+    return task == null ? null : task.statistics;
+  }
+
+  /**
+   * Stops polling all observers. The underlying scheduler and executor are not
+   * shut down.
+   */
+  @Override
+  public void close() {
+    tasks.keySet().forEach(this::cancel);
+  }
+
+  private static long random(long bound) {
+    return bound > 0 ? ThreadLocalRandom.current().nextLong(bound) : 0;
+  }
+
+  /**
+   * The timing information of a single observer.
+   */
+  private final class Task {
+    private final Statistics statistics = new Statistics();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Observer<?> observer;
+    private final long interval;
+    private final long jitter;
+    /**
+     * The time of the next tick, without jitter.
+     */
+    private long nominal;
+    private volatile long backoffUntil;
+    private volatile int failures;
+    private volatile boolean cancelled;
+    @Nullable
+    private volatile ScheduledFuture<?> future;
+
+    private Task(Observer<?> observer, long interval, long jitter) {
+      this.observer = observer;
+      this.interval = interval;
+      this.jitter = jitter;
+    }
+
+    private void start() {
+      // Spread the observers over the interval
+      nominal = System.nanoTime() + random(interval);
+      backoffUntil = nominal;
+      scheduleNext();
+    }
+
+    private void cancel() {
+      cancelled = true;
+
+      @Nullable
+      ScheduledFuture<?> current = future;
+
+      if (current != null) {
+        current.cancel(false);
+      }
+    }
+
+    private void scheduleNext() {
+      if (cancelled) {
+        return;
+      }
+
+      long delay = nominal + random(jitter) - System.nanoTime();
+
+      try {
+        future = scheduler.schedule(this::tick, Math.max(0, delay), TimeUnit.NANOSECONDS);
+      } catch (RejectedExecutionException e) {
+        LOGGER.warn("Scheduler has been shut down. Stop polling {}.", observer);
+        cancelled = true;
+      }
+    }
+
+    private void tick() {
+      long scheduled = nominal;
+      long now = System.nanoTime();
+
+      // Don't try to catch up with ticks which have been missed entirely
+      long missed = Math.max(0, (now - scheduled) / interval);
+      statistics.skipped.addAndGet(missed);
+      nominal = scheduled + (missed + 1) * interval;
+      scheduleNext();
+
+      if (now - backoffUntil < 0) {
+        statistics.deferred.incrementAndGet();
+        return;
+      }
+
+      if (!running.compareAndSet(false, true)) {
+        LOGGER.debug("Previous poll of {} is still running. Skip...", observer);
+        statistics.skipped.incrementAndGet();
+        return;
+      }
+
+      try {
+        executor.execute(() -> poll(scheduled));
+      } catch (RejectedExecutionException e) {
+        LOGGER.warn("Executor rejected poll of {}.", observer, e);
+        running.set(false);
+      }
+    }
+
+    private void poll(long scheduled) {
+      long start = System.nanoTime();
+      statistics.recordLag(start - scheduled);
+
+      try {
+        if (!cancelled) {
+          observer.notifyAllListeners();
+          failures = 0;
+          statistics.lastSuccess = System.nanoTime();
+        }
+      } catch (FailedRequestException e) {
+        backoff(e.getCause());
+      } catch (RuntimeException e) {
+        backoff(e);
+      } finally {
+        statistics.polls.incrementAndGet();
+        statistics.lastDuration = System.nanoTime() - start;
+        running.set(false);
+      }
+    }
+
+    private void backoff(@Nullable Throwable cause) {
+      statistics.failures.incrementAndGet();
+      failures = Math.min(failures + 1, MAX_BACKOFF_EXPONENT);
+
+      int exponent = isTransient(cause) ? failures : MAX_BACKOFF_EXPONENT;
+      long delay = interval << exponent;
+
+      LOGGER.warn("Poll of {} failed. Back off for {} ms.", observer,
+          TimeUnit.NANOSECONDS.toMillis(delay), cause);
+      backoffUntil = System.nanoTime() + delay;
+    }
+
+    private boolean isTransient(@Nullable Throwable cause) {
+      if (cause instanceof HttpException) {
+        int code = ((HttpException) cause).getErrorCode();
+        return code == TOO_MANY_REQUESTS || code >= INTERNAL_SERVER_ERROR;
+      }
+      // I/O errors, e.g. timeouts
+      return true;
+    }
+  }
+
+  /**
+   * Provides the metrics of a scheduled observer. All values are updated live.
+   */
+  public static final class Statistics {
+    private final AtomicLong polls = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong deferred = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong maxLag = new AtomicLong();
+    private volatile long lag;
+    private volatile long lastDuration;
+    private volatile long lastSuccess = System.nanoTime();
+
+    private Statistics() {
+      // Only instantiated by the engine
+    }
+
+    private void recordLag(long value) {
+      lag = Math.max(0, value);
+      maxLag.accumulateAndGet(lag, Math::max);
+    }
+
+    /**
+     * Returns the number of polls, including failed ones.
+     *
+     * @return The number of polls.
+     */
+    public long getPolls() {
+      return polls.get();
+    }
+
+    /**
+     * Returns the number of ticks which have been skipped, either because the
+     * previous poll was still running or because the scheduler fell behind.
+     *
+     * @return The number of skipped ticks.
+     */
+    public long getSkippedTicks() {
+      return skipped.get();
+    }
+
+    /**
+     * Returns the number of ticks which have been skipped due to backoff.
+     *
+     * @return The number of deferred ticks.
+     */
+    public long getDeferredTicks() {
+      return deferred.get();
+    }
+
+    /**
+     * Returns the number of failed polls.
+     *
+     * @return The number of failed polls.
+     */
+    public long getFailures() {
+      return failures.get();
+    }
+
+    /**
+     * Returns the time between the scheduled and the actual start of the most
+     * recent poll.
+     *
+     * @return The lag of the most recent poll.
+     */
+    public Duration getLag() {
+      return Duration.ofNanos(lag);
+    }
+
+    /**
+     * Returns the largest time between the scheduled and the actual start of a
+     * poll.
+     *
+     * @return The maximum lag over all polls.
+     */
+    public Duration getMaxLag() {
+      return Duration.ofNanos(maxLag.get());
+    }
+
+    /**
+     * Returns the duration of the most recent poll.
+     *
+     * @return The duration of the most recent poll.
+     */
+    public Duration getLastDuration() {
+      return Duration.ofNanos(lastDuration);
+    }
+
+    /**
+     * Returns the time since the last successful poll or, if there hasn't been
+     * one yet, since the observer has been scheduled. This is the upper bound
+     * for how far the listeners are behind the observed listing.
+     *
+     * @return The time since the last successful poll.
+     */
+    public Duration getTimeSinceLastSuccess() {
+      return Duration.ofNanos(System.nanoTime() - lastSuccess);
+    }
+  }
+}
@@ -17,17 +17,12 @@
 
 package zav.jrc.listener.observer;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
+import java.util.concurrent.Executor;
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jdt.annotation.Nullable;
 import zav.jrc.client.Client;
-import zav.jrc.client.FailedRequestException;
 import zav.jrc.databind.LinkEntity;
 import zav.jrc.listener.GenericEvent;
 import zav.jrc.listener.GenericListener;
-import zav.jrc.listener.paginator.IteratorException;
 import zav.jrc.listener.paginator.LinkPaginator;
 
 /**
@@ -37,40 +32,41 @@ import zav.jrc.listener.paginator.LinkPaginator;
  * of all registered listeners.
  */
 @NonNullByDefault
-public class SubredditObserver extends AbstractObserver<LinkEntity> {
-  @Nullable
-  private List<LinkEntity> history;
-  private final LinkPaginator requester;
-
+public class SubredditObserver extends ListingObserver<LinkEntity> {
   public SubredditObserver(Client client, String subreddit) {
-    this.requester = new LinkPaginator(client, subreddit);
+    super(new LinkPaginator(client, subreddit));
   }
 
-  @Override
-  public void notifyAllListeners() throws FailedRequestException {
-    try {
-      history = requester.next(); // History is computed once for all listeners
-      super.notifyAllListeners();
-    } catch (IteratorException e) {
-      throw e.getCause();
-    } finally {
-      history = null; // Clear cache even in case an exception was thrown.
-    }
+  /**
+   * Creates a new observer which notifies its listeners on the given executor.
+   *
+   * @param client    The client used for requesting new submissions.
+   * @param subreddit The name of the observed subreddit.
+   * @param executor  The executor on which the listeners are notified.
+   */
+  public SubredditObserver(Client client, String subreddit, Executor executor) {
+    super(new LinkPaginator(client, subreddit), executor);
   }
 
-  @Override
-  public void notifyListener(GenericListener<LinkEntity> listener) throws FailedRequestException {
-    try {
-      // History may be null when a listener is called explicitly instead of via
-      // notifyAllListener.
-      history = history == null ? requester.next() : history;
+  /**
+   * Creates a new observer which notifies each listener via its own bounded
+   * queue on the given executor. Polling the subreddit then only waits for the
+   * listeners, if a queue is full and the policy is
+   * {@link OverflowPolicy#BLOCK}.
+   *
+   * @param client    The client used for requesting new submissions.
+   * @param subreddit The name of the observed subreddit.
+   * @param executor  The executor on which the listeners are notified.
+   * @param capacity  The maximum number of links queued per listener.
+   * @param policy    The policy applied when a queue is full.
+   */
+  public SubredditObserver(Client client, String subreddit, Executor executor, int capacity,
+      OverflowPolicy policy) {
+    super(new LinkPaginator(client, subreddit), executor, capacity, policy);
+  }
 
-      // Notify the listener starting with the oldest link first
-      List<LinkEntity> result = new ArrayList<>(history);
-      result.sort(Comparator.comparing(LinkEntity::getId));
-      result.stream().map(GenericEvent::new).forEach(listener::notify);
-    } catch (IteratorException e) {
-      throw e.getCause();
-    }
+  @Override
+  protected String getId(LinkEntity source) {
+    return source.getId();
   }
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.paginator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zav.jrc.api.endpoint.Listings;
+import zav.jrc.client.Client;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.client.Priority;
+import zav.jrc.client.http.RequestBuilder.Credentials;
+import zav.jrc.databind.CommentEntity;
+import zav.jrc.databind.Identifiers;
+import zav.jrc.databind.Page;
+import zav.jrc.databind.ThingEntity;
+import zav.jrc.databind.Things;
+import zav.jrc.databind.core.ListingEntity;
+
+/**
+ * This class is used to retrieve the latest comments of a single
+ * submission.<br>
+ * The comment tree of the submission is requested sorted by {@code new} and
+ * flattened into a single listing, from newest to oldest comment. Only comments
+ * newer than the head are returned, so each comment is returned exactly
+ * once.<br>
+ * The tree can't be paginated via cursors, hence every poll requests the
+ * complete (truncated) tree. Replies hidden behind a {@code more} placeholder
+ * aren't expanded.
+ */
+@NonNullByDefault
+public class ArticleCommentPaginator extends Paginator<CommentEntity> {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ArticleCommentPaginator.class);
+  private static final String KIND = "t1";
+  /**
+   * The maximum number of comments requested per poll.
+   */
+  private static final int TREE_LIMIT = 500;
+
+  private final Client client;
+  private final String article;
+
+  /**
+   * Creates a new paginator over the comments of the given submission.
+   *
+   * @param client  The client used for requesting new comments.
+   * @param article The base-36 id of the submission.
+   */
+  public ArticleCommentPaginator(Client client, String article) {
+    this.client = client;
+    this.article = article;
+  }
+
+  /**
+   * The comment tree doesn't support the {@code before} cursor. Comments newer
+   * than the head are therefore always taken from the complete tree.
+   */
+  @Override
+  protected List<CommentEntity> requestIncremental() throws FailedRequestException {
+    return request();
+  }
+
+  @Override
+  protected Page<CommentEntity> nextListing(@Nullable String before, @Nullable String after,
+      int limit) throws FailedRequestException {
+    Map<Object, Object> params = new HashMap<>();
+    params.put("sort", "new");
+    // Replies may be newer than the most recent top-level comment, hence the
+    // limit of the paginator is ignored and the complete tree is returned
+    params.put("limit", TREE_LIMIT);
+
+    LOGGER.info("Request comment tree of {}", article);
+
+    // The response consists of the submission and its comment tree
+    ThingEntity[] response = client.newRequest() //
+        .withEndpoint(Listings.GET_COMMENTS_ARTICLE, article) //
+        .withParams(params) //
+        .withPriority(Priority.HIGH) //
+        .withCredentials(Credentials.ANY) //
+        .get(ThingEntity[].class);
+
+    List<ThingEntity> comments = new ArrayList<>();
+
+    if (response.length > 1) {
+      flatten(Things.transformThing(response[1], ListingEntity.class), comments);
+    }
+
+    // Paginators expect the Things to be sorted from newest to oldest
+    comments.sort(Identifiers.comparing(ArticleCommentPaginator::getThingId).reversed());
+
+    List<CommentEntity> result = new ArrayList<>();
+    comments.forEach(thing -> result.add(Things.transformThing(thing, CommentEntity.class)));
+    return new Page<>(result, null, null);
+  }
+
+  /**
+   * Collects all comments of the given listing, including their replies.
+   *
+   * @param listing A listing of comments.
+   * @param result  The list to which the comments are added.
+   */
+  private static void flatten(ListingEntity listing, List<ThingEntity> result) {
+    Things.transformListing(listing, ThingEntity.class).forEach(thing -> {
+      if (!KIND.equals(thing.getKind())) {
+        LOGGER.debug("Skip {} in comment tree.", thing.getKind());
+        return;
+      }
+
+      result.add(thing);
+
+      // Comments without replies contain an empty string instead of a listing
+      @Nullable
+      Object replies = getData(thing).get("replies");
+
+      if (replies instanceof Map) {
+        ThingEntity child = Things.transform(replies, ThingEntity.class);
+        flatten(Things.transformThing(child, ListingEntity.class), result);
+      }
+    });
+  }
+
+  private static Map<?, ?> getData(ThingEntity thing) {
+    @Nullable
+    Object data = thing.getData();
+    return data instanceof Map ? (Map<?, ?>) data : Map.of();
+  }
+
+  private static String getThingId(ThingEntity thing) {
+    return String.valueOf(getData(thing).get("id"));
+  }
+
+  @Override
+  protected String getId(CommentEntity source) {
+    return source.getId();
+  }
+
+  @Override
+  protected String getKind() {
+    return KIND;
+  }
+}
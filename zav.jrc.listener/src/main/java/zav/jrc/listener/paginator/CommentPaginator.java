@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.paginator;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zav.jrc.api.endpoint.Listings;
+import zav.jrc.client.Client;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.client.Priority;
+import zav.jrc.client.http.RequestBuilder.Credentials;
+import zav.jrc.databind.CommentEntity;
+import zav.jrc.databind.Page;
+
+/**
+ * This class is used to retrieve the latest comments from a given
+ * subreddit.<br>
+ * During the first request, the most recent comment is used as a head for
+ * future requests and thus will always return an empty list.<br>
+ * On future requests, all comments that have been created after the head are
+ * returned, using as few pages as possible. The head is then updated with the
+ * most recent comment.
+ */
+@NonNullByDefault
+public class CommentPaginator extends Paginator<CommentEntity> {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CommentPaginator.class);
+  private static final String KIND = "t1";
+
+  private final Client client;
+  private final String subreddit;
+
+  public CommentPaginator(Client client, String subreddit) {
+    this.client = client;
+    this.subreddit = subreddit;
+  }
+
+  @Override
+  protected Page<CommentEntity> nextListing(@Nullable String before, @Nullable String after,
+      int limit) throws FailedRequestException {
+    Map<Object, Object> params = new HashMap<>();
+    params.put("limit", limit);
+
+    if (before != null) {
+      LOGGER.info("Request comments before {}", before);
+      params.put("before", before);
+    }
+
+    if (after != null) {
+      LOGGER.info("Request comments after {}", after);
+      params.put("after", after);
+    }
+
+    return client.newRequest() //
+        .withEndpoint(Listings.GET_R_SUBREDDIT_COMMENTS, subreddit) //
+        .withParams(params) //
+        .withPriority(Priority.HIGH) //
+        .withCredentials(Credentials.ANY) //
+        .getPage(CommentEntity.class);
+  }
+
+  @Override
+  protected String getId(CommentEntity source) {
+    return source.getId();
+  }
+
+  @Override
+  protected String getKind() {
+    return KIND;
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.paginator;
+
+import java.util.Arrays;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A bounded set over the numeric values of the most recently accepted ids.<br>
+ * The ids are kept in a ring buffer, in the order in which they have been
+ * accepted, and indexed by an open-addressing hash set. Once the window is
+ * full, the oldest id is evicted. Because an evicted id might reappear, the
+ * window also keeps a floor, i.e. the largest id which is no longer part of the
+ * window. Ids below or equal to this floor are always rejected. Thus, no id is
+ * accepted twice, while ids arriving late are still accepted, as long as they
+ * are above the floor.<br>
+ * The memory footprint is fixed and only depends on the capacity.
+ */
+@NonNullByDefault
+public final class DedupeWindow {
+  /**
+   * Marks an empty slot in the hash set. Ids are never negative.
+   */
+  private static final long EMPTY = -1;
+
+  private final long[] ring;
+  private final long[] table;
+  private final int mask;
+  private int size;
+  private int next;
+  private long floor;
+
+  /**
+   * Creates a new window over the given number of ids.
+   *
+   * @param capacity The maximum number of ids kept in the window.
+   */
+  public DedupeWindow(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+
+    // Keep the load factor of the hash set at or below 0.5
+    int slots = Integer.highestOneBit(capacity * 2 - 1) << 1;
+
+    this.ring = new long[capacity];
+    this.table = new long[slots];
+    this.mask = slots - 1;
+    this.floor = EMPTY;
+
+    Arrays.fill(table, EMPTY);
+  }
+
+  /**
+   * Removes all ids from the window. Ids below or equal to the given id are
+   * rejected from now on.
+   *
+   * @param id The numeric value of the new floor.
+   */
+  public void reset(long id) {
+    Arrays.fill(table, EMPTY);
+    size = 0;
+    next = 0;
+    floor = id;
+  }
+
+  /**
+   * Adds an id to the window, unless it has already been accepted or is below
+   * the floor.
+   *
+   * @param id The numeric value of the id.
+   * @return {@code true}, if the id hasn't been accepted before.
+   */
+  public boolean accept(long id) {
+    if (id <= floor || contains(id)) {
+      return false;
+    }
+
+    if (size == ring.length) {
+      long evicted = ring[next];
+      remove(evicted);
+      floor = Math.max(floor, evicted);
+      size--;
+    }
+
+    ring[next] = id;
+    next = (next + 1) % ring.length;
+    size++;
+    insert(id);
+    return true;
+  }
+
+  /**
+   * Checks whether the id is part of the window.
+   *
+   * @param id The numeric value of the id.
+   * @return {@code true}, if the id is part of the window.
+   */
+  public boolean contains(long id) {
+    for (int slot = hash(id); table[slot] != EMPTY; slot = (slot + 1) & mask) {
+      if (table[slot] == id) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Returns the largest id, which has been evicted from the window.
+   *
+   * @return The numeric value of the floor or {@code -1}, if not set.
+   */
+  public long getFloor() {
+    return floor;
+  }
+
+  /**
+   * Returns the number of ids in the window.
+   *
+   * @return The number of ids.
+   */
+  public int size() {
+    return size;
+  }
+
+  private void insert(long id) {
+    int slot = hash(id);
+
+    while (table[slot] != EMPTY) {
+      slot = (slot + 1) & mask;
+    }
+
+    table[slot] = id;
+  }
+
+  /**
+   * Removes an id from the hash set. Instead of tombstones, all subsequent
+   * entries of the same cluster are shifted back, so that lookups never have to
+   * skip deleted slots.
+   *
+   * @param id The numeric value of the id.
+   */
+  private void remove(long id) {
+    int slot = hash(id);
+
+    while (table[slot] != id) {
+      if (table[slot] == EMPTY) {
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    int gap = slot;
+
+    for (int current = (gap + 1) & mask; table[current] != EMPTY; current = (current + 1) & mask) {
+      int home = hash(table[current]);
+
+      // Move the entry into the gap, unless its home lies cyclically in (gap, current]
+      if (((current - home) & mask) >= ((current - gap) & mask)) {
+        table[gap] = table[current];
+        gap = current;
+      }
+    }
+
+    table[gap] = EMPTY;
+  }
+
+  private int hash(long id) {
+    // Consecutive ids are common, hence the bits are mixed before masking
+    long value = id * 0x9E3779B97F4A7C15L;
+    return (int) (value ^ (value >>> 32)) & mask;
+  }
+}
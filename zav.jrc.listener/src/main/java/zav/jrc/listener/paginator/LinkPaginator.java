@@ -19,7 +19,6 @@ package zav.jrc.listener.paginator;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Stream;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.slf4j.Logger;
@@ -27,21 +26,24 @@ import org.slf4j.LoggerFactory;
 import zav.jrc.api.endpoint.Listings;
 import zav.jrc.client.Client;
 import zav.jrc.client.FailedRequestException;
+import zav.jrc.client.Priority;
+import zav.jrc.client.http.RequestBuilder.Credentials;
 import zav.jrc.databind.LinkEntity;
-import zav.jrc.databind.Things;
+import zav.jrc.databind.Page;
 
 /**
  * This class is used to retrieve the latest submissions from a given
  * subreddit.<br>
  * During the first request, the most recent link is used as a head for future
  * requests and thus will always return an empty list.<br>
- * On future requests, the head is compared against all retrieved links and only
- * those that have been submitted after the head are returned. The head is then
- * updated with the most recent link.
+ * On future requests, all links that have been submitted after the head are
+ * returned, using as few pages as possible. The head is then updated with the
+ * most recent link.
  */
 @NonNullByDefault
 public class LinkPaginator extends Paginator<LinkEntity> {
   private static final Logger LOGGER = LoggerFactory.getLogger(LinkPaginator.class);
+  private static final String KIND = "t3";
 
   private final Client client;
   private final String subreddit;
@@ -52,24 +54,36 @@ public class LinkPaginator extends Paginator<LinkEntity> {
   }
 
   @Override
-  protected Stream<LinkEntity> nextPage(@Nullable LinkEntity after) throws FailedRequestException {
+  protected Page<LinkEntity> nextListing(@Nullable String before, @Nullable String after,
+      int limit) throws FailedRequestException {
     Map<Object, Object> params = new HashMap<>();
+    params.put("limit", limit);
+
+    if (before != null) {
+      LOGGER.info("Request submissions before {}", before);
+      params.put("before", before);
+    }
 
     if (after != null) {
-      LOGGER.info("Request submissions after {}", after.getId());
-      params.put("after", after.getId());
+      LOGGER.info("Request submissions after {}", after);
+      params.put("after", after);
     }
 
-    String response = client.newRequest() //
+    return client.newRequest() //
         .withEndpoint(Listings.GET_R_SUBREDDIT_NEW, subreddit) //
         .withParams(params) //
-        .get();
-
-    return Things.transformListingOfThings(response, LinkEntity.class);
+        .withPriority(Priority.HIGH) //
+        .withCredentials(Credentials.ANY) //
+        .getPage(LinkEntity.class);
   }
 
   @Override
   protected String getId(LinkEntity source) {
     return source.getId();
   }
+
+  @Override
+  protected String getKind() {
+    return KIND;
+  }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.paginator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zav.jrc.api.endpoint.PrivateMessages;
+import zav.jrc.client.Client;
+import zav.jrc.client.FailedRequestException;
+import zav.jrc.client.Priority;
+import zav.jrc.databind.MessageEntity;
+import zav.jrc.databind.ThingEntity;
+import zav.jrc.databind.Things;
+import zav.jrc.databind.core.ListingEntity;
+import zav.jrc.endpoint.account.SelfAccount;
+
+/**
+ * This class is used to retrieve the unread messages of the account through
+ * which the client is logged in.<br>
+ * Unlike other paginators, the listing isn't sorted by id, as it contains both
+ * messages and comment replies. Instead, each message remains unread until it
+ * has been {@link #acknowledge() acknowledged}, after which it is removed from
+ * the listing. All messages which have been returned but not acknowledged yet
+ * are therefore remembered and skipped by following requests. Unread messages
+ * which existed before the first request are returned as well.
+ */
+@NonNullByDefault
+public class MessagePaginator implements Iterator<List<MessageEntity>> {
+  private static final Logger LOGGER = LoggerFactory.getLogger(MessagePaginator.class);
+
+  private final Client client;
+  /**
+   * The fullnames of all messages which have been returned, but not marked as
+   * read yet.
+   */
+  private final Set<String> pending = new LinkedHashSet<>();
+
+  public MessagePaginator(Client client) {
+    this.client = client.getOwner();
+  }
+
+  @Override
+  public boolean hasNext() {
+    // There is always a "next" page. May be empty, though...
+    return true;
+  }
+
+  /**
+   * Returns all unread messages, which haven't been returned before, sorted from
+   * newest to oldest.
+   *
+   * @return All new, unread messages.
+   * @throws IteratorException If the API request was rejected.
+   */
+  @Override
+  public List<MessageEntity> next() throws IteratorException {
+    try {
+      return request();
+    } catch (FailedRequestException e) {
+      throw new IteratorException(e);
+    }
+  }
+
+  private synchronized List<MessageEntity> request() throws FailedRequestException {
+    List<MessageEntity> result = new ArrayList<>();
+    Set<String> unread = new HashSet<>();
+    @Nullable
+    String after = null;
+
+    do {
+      LOGGER.info("Request unread messages after {}.", after);
+
+      ListingEntity listing = nextListing(after);
+
+      List<ThingEntity> things = Things.transformListing(listing, ThingEntity.class)
+          .collect(Collectors.toList());
+
+      for (ThingEntity thing : things) {
+        // The inbox contains both messages (t4) and comments (t1) with the same fields
+        MessageEntity message = Things.transform(thing.getData(), MessageEntity.class);
+        unread.add(message.getName());
+
+        if (!pending.contains(message.getName())) {
+          result.add(message);
+        }
+      }
+
+      after = listing.getChildren().isEmpty() ? null : listing.getAfter();
+    } while (after != null);
+
+    // Messages which have been read elsewhere don't have to be acknowledged
+    pending.retainAll(unread);
+    result.forEach(message -> pending.add(message.getName()));
+
+    return result;
+  }
+
+  /**
+   * Marks all returned messages as read. The fullnames are combined into a single
+   * request per page of messages. If rejected, all messages are marked as read
+   * again during the next acknowledgement.
+   *
+   * @throws FailedRequestException If the API request was rejected.
+   * @see SelfAccount#readMessages(java.util.Collection)
+   */
+  public synchronized void acknowledge() throws FailedRequestException {
+    if (pending.isEmpty()) {
+      return;
+    }
+
+    List<String> fullnames = new ArrayList<>(pending);
+    LOGGER.info("Mark {} message(s) as read.", fullnames.size());
+
+    new SelfAccount(client).readMessages(fullnames);
+
+    // Read messages are no longer part of the listing
+    pending.removeAll(fullnames);
+  }
+
+  /**
+   * Returns the number of messages which haven't been acknowledged yet.
+   *
+   * @return The number of pending messages.
+   */
+  public synchronized int getPending() {
+    return pending.size();
+  }
+
+  protected ListingEntity nextListing(@Nullable String after) throws FailedRequestException {
+    Map<Object, Object> params = new HashMap<>();
+    params.put("limit", Paginator.LIMIT);
+    // Messages are only marked as read once they have been acknowledged
+    params.put("mark", false);
+
+    if (after != null) {
+      params.put("after", after);
+    }
+
+    return client.newRequest() //
+        .withEndpoint(PrivateMessages.GET_MESSAGE_UNREAD) //
+        .withParams(params) //
+        .withPriority(Priority.HIGH) //
+        .getThing(ListingEntity.class);
+  }
+}
@@ -14,22 +14,78 @@
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
 
+
 package zav.jrc.listener.paginator;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Stream;
 import org.eclipse.jdt.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import zav.jrc.client.FailedRequestException;
+import zav.jrc.databind.Identifiers;
+import zav.jrc.databind.Page;
+import zav.jrc.listener.checkpoint.CheckpointStore;
 
+/**
+ * Base class for retrieving the latest Things of a listing, which is sorted from
+ * newest to oldest.<br>
+ * During the first request, the id of the most recent Thing is used as the head
+ * for future requests and thus will always return an empty list.<br>
+ * On future requests, the listing is walked via its {@code after} cursor,
+ * starting with the newest Thing. The walk stops on the first page which
+ * contains a Thing that isn't newer than the head. Ids are compared by their
+ * numeric base-36 value, so the head doesn't have to be part of the listing
+ * anymore, e.g. because it has been deleted.<br>
+ * In incremental mode, only the Things {@code before} the head are requested
+ * instead, with a page size based on the observed arrival rate. A quiet
+ * listing then costs a single, small request per poll. Because an anchor which
+ * has been deleted returns an empty page, the most recent Thing is
+ * periodically compared against the head. If it is newer, the paginator falls
+ * back to walking the listing via its {@code after} cursor.<br>
+ * If a {@link CheckpointStore} is set, the head is persisted via
+ * {@link #checkpoint(String)} once the returned Things have been processed and
+ * restored instead of being retrieved again, so that no Things are lost in
+ * between restarts. Every walk is limited to {@link #MAX_PAGES} pages,
+ * which bounds the requests needed to catch up with an outdated head.<br>
+ * Listings are eventually consistent, i.e. Things may appear after newer Things
+ * have already been returned. With a {@link DedupeWindow}, the remainder of the
+ * page containing the head is checked for such late arrivals as well. The
+ * window guarantees that no Thing is returned twice, even if the head moves
+ * back.
+ *
+ * @param <T> The type of the paginated Things.
+ */
 public abstract class Paginator<T> implements Iterator<List<T>> {
+  /**
+   * The maximum number of Things which may be requested per page.
+   */
+  public static final int LIMIT = 100;
+  /**
+   * The maximum number of pages which are requested per call. Listings are
+   * truncated by the API after roughly 1000 Things, hence older Things can't be
+   * retrieved anyway.
+   */
+  public static final int MAX_PAGES = 10;
+  /**
+   * The number of consecutive empty polls in incremental mode, after which the
+   * head is validated against the most recent Thing.
+   */
+  private static final int REANCHOR_POLLS = 10;
   private static final Logger LOGGER = LoggerFactory.getLogger(Paginator.class);
 
-  private @Nullable T head;
+  private final RateEstimator estimator = new RateEstimator();
+  private @Nullable String head;
+  private boolean incremental;
+  private int emptyPolls;
+  private @Nullable CheckpointStore checkpoints;
+  private @Nullable String checkpointKey;
+  private boolean restored;
+  private @Nullable String persisted;
+  private @Nullable DedupeWindow window;
 
   @Override
   public boolean hasNext() {
@@ -40,80 +96,367 @@ public abstract class Paginator<T> implements Iterator<List<T>> {
   @Override
   public List<T> next() throws IteratorException {
     try {
-      return head == null ? init() : request();
+      if (head == null) {
+        restore();
+      }
+
+      if (head == null) {
+        List<T> result = init();
+        estimator.start(System.nanoTime());
+        return result;
+      }
+
+      List<T> result = incremental ? requestIncremental() : request();
+      estimator.record(result.size(), System.nanoTime());
+      return result;
     } catch (FailedRequestException e) {
       throw new IteratorException(e);
     }
   }
 
+  /**
+   * Sets the store in which the head of this paginator is persisted. If the store
+   * contains a head for the given key, it is used instead of retrieving a new
+   * head, i.e. the first request returns all Things created in the meantime.
+   *
+   * @param checkpoints The store containing the persisted heads.
+   * @param key         The key under which the head of this paginator is stored.
+   */
+  public void setCheckpoint(CheckpointStore checkpoints, String key) {
+    this.checkpoints = checkpoints;
+    this.checkpointKey = key;
+    this.restored = false;
+    this.persisted = null;
+  }
+
+  /**
+   * Restores the head from the checkpoint store, if one has been set. The store
+   * is only read once.
+   */
+  private void restore() {
+    @Nullable CheckpointStore store = checkpoints;
+    @Nullable String key = checkpointKey;
+
+    if (store == null || key == null || restored) {
+      return;
+    }
+
+    restored = true;
+
+    try {
+      store.load(key).ifPresent(restoredHead -> {
+        anchor(restoredHead);
+        persisted = restoredHead;
+        LOGGER.info("Restored {} as the head of {}.", head, key);
+      });
+    } catch (IOException e) {
+      LOGGER.warn("Unable to restore the head of {}.", key, e);
+    }
+  }
+
+  /**
+   * Persists the given head, if a checkpoint store has been set. The head is not
+   * persisted by {@link #next()}, but by the caller, once all Things up to this
+   * head have been processed. Otherwise those Things would be lost, if the
+   * application terminates in between.<br>
+   * Heads older than the last persisted head are ignored, in case the Things of
+   * consecutive pages are processed out of order. Failures are only logged, in
+   * order to not interrupt the paginator.
+   *
+   * @param processed The head up to which all Things have been processed.
+   * @see #getHead()
+   */
+  public synchronized void checkpoint(String processed) {
+    @Nullable CheckpointStore store = checkpoints;
+    @Nullable String key = checkpointKey;
+    @Nullable String current = persisted;
+
+    if (store == null || key == null) {
+      return;
+    }
+
+    if (current != null && Identifiers.compare(processed, current) <= 0) {
+      return;
+    }
+
+    try {
+      store.store(key, processed);
+      persisted = processed;
+    } catch (IOException e) {
+      LOGGER.warn("Unable to persist the head of {}.", key, e);
+    }
+  }
+
+  /**
+   * Returns the id of the most recent Thing, which has been returned by this
+   * paginator.
+   *
+   * @return The id of the current head or {@code null}, if not initialized yet.
+   */
+  public @Nullable String getHead() {
+    return head;
+  }
+
+  /**
+   * Sets the id of the most recent Thing, which has already been processed. Only
+   * Things newer than this head are returned by the next request. If
+   * {@code null}, the head is retrieved again on the next request.
+   *
+   * @param head The id of the new head. May be {@code null}.
+   */
+  public void setHead(@Nullable String head) {
+    // Things returned before are still rejected by the deduplication window
+    this.head = head;
+  }
+
+  /**
+   * Enables the deduplication of returned Things. The paginator then remembers
+   * the ids of the most recently returned Things, which allows it to accept
+   * Things arriving late, without returning any Thing twice.
+   *
+   * @param capacity The number of ids kept per paginator.
+   * @see DedupeWindow
+   */
+  public void setDeduplication(int capacity) {
+    DedupeWindow newWindow = new DedupeWindow(capacity);
+    @Nullable String currentHead = head;
+
+    if (currentHead != null) {
+      newWindow.reset(Identifiers.parse(currentHead));
+    }
+
+    this.window = newWindow;
+  }
+
+  /**
+   * Sets the head, e.g. after it has been initialized or restored. Things older
+   * than this head are no longer accepted by the deduplication window.
+   *
+   * @param newHead The id of the new head.
+   */
+  private void anchor(String newHead) {
+    head = newHead;
+
+    @Nullable DedupeWindow currentWindow = window;
+
+    if (currentWindow != null) {
+      currentWindow.reset(Identifiers.parse(newHead));
+    }
+  }
+
+  /**
+   * Checks whether the Thing hasn't been returned before.
+   *
+   * @param id The id of the Thing.
+   * @return {@code true}, if the Thing should be returned.
+   */
+  private boolean accept(String id) {
+    @Nullable DedupeWindow currentWindow = window;
+    return currentWindow == null || currentWindow.accept(Identifiers.parse(id));
+  }
+
+  private static String newest(String left, String right) {
+    return Identifiers.compare(left, right) >= 0 ? left : right;
+  }
+
+  /**
+   * Enables or disables the incremental mode, in which only Things newer than the
+   * head are requested.
+   *
+   * @param incremental {@code true}, if the incremental mode should be used.
+   */
+  public void setIncremental(boolean incremental) {
+    this.incremental = incremental;
+  }
+
+  /**
+   * Returns the estimator tracking the arrival rate of new Things.
+   *
+   * @return The rate estimator of this paginator.
+   */
+  public RateEstimator getEstimator() {
+    return estimator;
+  }
+
   protected List<T> init() throws FailedRequestException {
     LOGGER.info("Possible first time this requester is used? Retrieve head...");
 
-    nextPage(null).limit(1).findFirst().ifPresent(newHead -> {
-      head = newHead;
-      LOGGER.info("Retrieved {} as the new head.", getId(head));
-
+    nextPage(null, null, 1).stream().findFirst().ifPresent(newHead -> {
+      anchor(getId(newHead));
+      LOGGER.info("Retrieved {} as the new head.", head);
     });
 
     return Collections.emptyList();
   }
 
   protected List<T> request() throws FailedRequestException {
-    assert head != null;
+    String currentHead = head;
+    assert currentHead != null;
 
     List<T> result = new ArrayList<>();
+    String newHead = currentHead;
+    // Start with the most recent page
+    @Nullable String after = null;
+    // Indicates whether the current head has been reached
+    boolean exhausted = false;
+    int pages = 0;
+
+    do {
+      LOGGER.info("Request page after {}.", after);
+
+      Page<T> listing = nextListing(null, after, LIMIT);
+      List<T> page = listing.getChildren();
+
+      for (T element : page) {
+        String id = getId(element);
+
+        // Ids are assigned in ascending order, i.e. only elements with a larger id
+        // have been created after the head
+        if (Identifiers.compare(id, currentHead) > 0) {
+          newHead = newest(newHead, id);
+
+          if (accept(id)) {
+            result.add(element);
+          }
+        } else if (window == null) {
+          LOGGER.debug("Last element found. Stop...");
+          exhausted = true;
+          break;
+        } else {
+          // Check the remaining elements of this page for late arrivals
+          exhausted = true;
+
+          if (accept(id)) {
+            LOGGER.debug("Late element {} found.", id);
+            result.add(element);
+          }
+        }
+      }
 
-    // All elements have to be newer than the current head
-    T after = head;
-    // Indicates whether we should request the next page
+      after = page.isEmpty() ? null : listing.getAfter();
+    } while (!exhausted && after != null && ++pages < MAX_PAGES);
+
+    if (!exhausted && after != null) {
+      LOGGER.warn("Head {} not reached after {} pages. Skip older elements...", currentHead,
+          MAX_PAGES);
+    }
+
+    if (!newHead.equals(currentHead)) {
+      // All elements of the next request have to be newer than the new head
+      head = newHead;
+      LOGGER.info("Update 'head' to {}.", head);
+    }
+
+    return result;
+  }
+
+  protected List<T> requestIncremental() throws FailedRequestException {
+    String currentHead = head;
+    assert currentHead != null;
+
+    List<T> result = new ArrayList<>();
+    String newHead = currentHead;
+    String before = Identifiers.toFullname(getKind(), currentHead);
+    int limit = estimator.getLimit(System.nanoTime());
+    int pages = 0;
     boolean hasNext;
 
     do {
-      LOGGER.info("Request next page after {}.", getId(after));
+      LOGGER.info("Request {} element(s) before {}.", limit, before);
+
+      List<T> page = new ArrayList<>();
+      int count = 0;
 
-      List<T> currentResult = new ArrayList<>();
+      for (T element : nextPage(before, null, limit)) {
+        String id = getId(element);
 
-      hasNext = request(currentResult, after);
+        if (Identifiers.compare(id, currentHead) > 0) {
+          newHead = newest(newHead, id);
+          count++;
 
-      if (!currentResult.isEmpty()) {
-        // The next page should start after the last element of the current page
-        after = currentResult.get(currentResult.size() - 1);
-        result.addAll(currentResult);
+          if (accept(id)) {
+            page.add(element);
+          }
+        }
       }
 
-    } while (hasNext);
+      // Pages are sorted from newest to oldest and each page is newer than the last
+      result.addAll(0, page);
+      // A full page indicates that there are even newer elements
+      hasNext = count >= limit;
+      before = count == 0 ? before : Identifiers.toFullname(getKind(), newHead);
+      limit = LIMIT;
+    } while (hasNext && ++pages < MAX_PAGES);
 
-    if (!result.isEmpty()) {
-      // All elements of the next request have to be newer than the new head
-      head = result.get(0);
-      LOGGER.info("Update 'head' to {}.", getId(head));
+    if (newHead.equals(currentHead)) {
+      return ++emptyPolls < REANCHOR_POLLS ? result : reanchor();
     }
 
+    emptyPolls = 0;
+    head = newHead;
+    LOGGER.info("Update 'head' to {}.", head);
     return result;
   }
 
-  protected boolean request(List<T> result, @Nullable T after) throws FailedRequestException {
-    LOGGER.info("Requesting page after {}.", getId(after));
-    Iterator<T> iterator = nextPage(after).iterator();
+  /**
+   * Checks whether the head is still a valid anchor, by comparing it against the
+   * most recent Thing. If the latter is newer, the head has most likely been
+   * deleted and all new Things are retrieved via the {@code after} cursor.
+   *
+   * @return All Things which are newer than the head.
+   * @throws FailedRequestException If the API request was rejected.
+   */
+  private List<T> reanchor() throws FailedRequestException {
+    String currentHead = head;
+    assert currentHead != null;
 
-    // Iterate over all elements on the current page
-    while (iterator.hasNext()) {
-      T element = iterator.next();
+    emptyPolls = 0;
 
-      // If the current link is lexicographically larger than the head
-      // Then that means it was created after the head, i.e. at a later point in time
-      if (getId(element).compareTo(getId(head)) > 0) {
-        result.add(element);
-      } else {
-        LOGGER.debug("Last element found. Stop...");
-        return false;
+    for (T element : nextPage(null, null, 1)) {
+      if (Identifiers.compare(getId(element), currentHead) > 0) {
+        LOGGER.warn("Head {} is no longer part of the listing. Re-anchor...", currentHead);
+        return request();
       }
     }
 
-    return true;
+    return Collections.emptyList();
+  }
+
+  /**
+   * Requests a single page and deserializes all of its Things.
+   *
+   * @param before The fullname of the Thing before which the page ends.
+   * @param after  The fullname of the Thing after which the page starts.
+   * @param limit  The maximum number of Things on the page.
+   * @return All Things of the requested page.
+   * @throws FailedRequestException If the API request was rejected.
+   */
+  protected List<T> nextPage(@Nullable String before, @Nullable String after, int limit)
+      throws FailedRequestException {
+    return nextListing(before, after, limit).getChildren();
   }
 
   protected abstract String getId(T source);
 
-  protected abstract Stream<T> nextPage(@Nullable T after) throws FailedRequestException;
+  /**
+   * Returns the kind of the paginated Things, e.g. {@code t3} for links.
+   *
+   * @return The prefix of the fullnames of the paginated Things.
+   */
+  protected abstract String getKind();
+
+  /**
+   * Requests a single page of the underlying listing. At most one of the cursors
+   * is set. If neither is set, the most recent page is requested.
+   *
+   * @param before The fullname of the Thing before which the page ends, i.e. the
+   *               page contains the Things which are newer than this Thing.
+   * @param after  The fullname of the Thing after which the page starts, i.e. the
+   *               page contains the Things which are older than this Thing.
+   * @param limit  The maximum number of Things on the page.
+   * @return The requested page of the listing.
+   * @throws FailedRequestException If the API request was rejected.
+   */
+  protected abstract Page<T> nextListing(@Nullable String before, @Nullable String after,
+      int limit) throws FailedRequestException;
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023 Zavarov.
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package zav.jrc.listener.paginator;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Estimates the rate at which new Things arrive in a listing, based on the
+ * number of Things returned by previous polls. The rate is an exponentially
+ * weighted moving average, so that it follows changes in activity without
+ * overreacting to single bursts.<br>
+ * The estimate is used to choose both the size of the next page and the time
+ * until the next poll. Busy listings are polled frequently with large pages,
+ * while idle listings are polled rarely with small pages.
+ */
+@NonNullByDefault
+public class RateEstimator {
+  /**
+   * The weight of the most recent sample.
+   */
+  private static final double ALPHA = 0.3;
+  /**
+   * The factor by which the page size exceeds the expected number of Things, in
+   * order to make follow-up requests unlikely.
+   */
+  private static final double HEADROOM = 1.5;
+  /**
+   * The minimum page size. Small pages are cheap, while a page which is too
+   * small requires a second request.
+   */
+  private static final int MIN_LIMIT = 5;
+  /**
+   * The number of Things which are expected per poll, when the poll interval is
+   * adapted.
+   */
+  private static final double TARGET_PER_POLL = 1.0;
+  private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  /**
+   * Estimated number of Things per second.
+   */
+  private double rate;
+  private boolean initialized;
+  private long last;
+  private boolean started;
+
+  /**
+   * Marks the start of the observation, without recording a sample.
+   *
+   * @param now The current time in nanoseconds.
+   */
+  public void start(long now) {
+    last = now;
+    started = true;
+  }
+
+  /**
+   * Records the number of Things returned by a poll.
+   *
+   * @param count The number of new Things.
+   * @param now   The current time in nanoseconds.
+   */
+  public void record(int count, long now) {
+    if (started && now > last) {
+      double sample = count * NANOS_PER_SECOND / (now - last);
+      rate = initialized ? ALPHA * sample + (1 - ALPHA) * rate : sample;
+      initialized = true;
+    }
+
+    start(now);
+  }
+
+  /**
+   * Returns the estimated number of Things per second.
+   *
+   * @return The estimated arrival rate.
+   */
+  public double getRate() {
+    return rate;
+  }
+
+  /**
+   * Returns the page size for a poll at the given time, based on the number of
+   * Things which are expected to have arrived since the last poll.
+   *
+   * @param now The current time in nanoseconds.
+   * @return The page size, which is at most {@link Paginator#LIMIT}.
+   */
+  public int getLimit(long now) {
+    double expected = rate * Math.max(0, now - last) / NANOS_PER_SECOND;
+    long limit = (long) Math.ceil(expected * HEADROOM);
+    return (int) Math.max(MIN_LIMIT, Math.min(Paginator.LIMIT, limit));
+  }
+
+  /**
+   * Returns the time until the next poll, such that roughly one new Thing is
+   * expected per poll.
+   *
+   * @param min The minimum interval.
+   * @param max The maximum interval, used for idle listings.
+   * @return The interval between {@code min} and {@code max}.
+   */
+  public Duration getInterval(Duration min, Duration max) {
+    if (rate <= 0) {
+      return max;
+    }
+
+    long nanos = (long) Math.min(max.toNanos(), TARGET_PER_POLL / rate * NANOS_PER_SECOND);
+    return Duration.ofNanos(Math.max(min.toNanos(), nanos));
+  }
+}